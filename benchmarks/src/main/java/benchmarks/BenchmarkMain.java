@@ -0,0 +1,41 @@
+package benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Takes the usual JMH command line options, but
+ * writes the results as JSON to {@value #DEFAULT_RESULT_FILE} unless another result
+ * format or file is given, so runs of different versions can simply be diffed.
+ * <p>
+ * Usage: {@code java -Djava.awt.headless=true -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regex]}
+ */
+public class BenchmarkMain {
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws IOException, RunnerException, CommandLineOptionException {
+        System.setProperty("java.awt.headless", "true");
+
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        if (cmdOptions.shouldHelp() || cmdOptions.shouldList() || cmdOptions.shouldListProfilers()
+                || cmdOptions.shouldListResultFormats() || cmdOptions.shouldListWithParams()) {
+            org.openjdk.jmh.Main.main(args); // Nothing to run, let JMH print what was asked for
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdOptions);
+        if (!cmdOptions.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if (!cmdOptions.getResult().hasValue()) options.result(DEFAULT_RESULT_FILE);
+        // The forked JVMs have to be headless as well
+        options.jvmArgsAppend("-Djava.awt.headless=true");
+
+        new Runner(options.build()).run();
+    }
+}
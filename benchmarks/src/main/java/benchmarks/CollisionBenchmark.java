@@ -0,0 +1,95 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import game.ecs.Archetype;
+import game.ecs.Component;
+import game.entities.Coin;
+import game.entities.Obstacle;
+import game.entities.Player;
+import game.systems.CoinCollectionSystem;
+import game.systems.GameState;
+import game.systems.ObstacleCollisionSystem;
+
+/**
+ * Measures the collision systems of the Player against a grid of Obstacles and Coins.
+ * None of them touches the Player, so the checks don't change any state and every
+ * invocation does the same work: the broad phase plus the narrow phase for all
+ * entities in the Player's band.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final int COLUMNS = 40;
+
+    /** Number of entities, half of them Obstacles and half Coins (approx). */
+    @Param({"20", "200", "2000"})
+    public int entityCount;
+
+    private Player player;
+    private Archetype players;
+    private Archetype obstacles;
+    private Archetype coins;
+    private ObstacleCollisionSystem obstacleCollision;
+    private CoinCollectionSystem coinCollection;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        players = Player.newArchetype();
+        player = new Player(players, Player.spawn(players, WIDTH / 2.0, HEIGHT / 2.0));
+        obstacles = Obstacle.newArchetype();
+        coins = Coin.newArchetype();
+        GameState state = new GameState();
+        obstacleCollision = new ObstacleCollisionSystem(players, obstacles, state);
+        coinCollection = new CoinCollectionSystem(players, coins, state);
+
+        // Fill the panel row by row from the bottom, leaving out the cells around the player
+        final double cellWidth = WIDTH / (double) COLUMNS;
+        final int rows = (entityCount + COLUMNS - 1) / COLUMNS;
+        final double rowPitch = HEIGHT / (double) Math.max(rows, 1);
+        final double size = Math.min(Coin.DEFAULT_COIN_DIAMETER, Math.min(cellWidth, rowPitch) - 2);
+
+        int added = 0;
+        for (int row = 0; row < rows * 2 && added < entityCount; ++row) {
+            double y = HEIGHT - (row % rows + 1) * rowPitch + (row >= rows ? rowPitch / 2 : 0);
+            for (int col = 0; col < COLUMNS && added < entityCount; ++col) {
+                double x = col * cellWidth;
+                if (overlapsPlayer(x, y, size)) continue;
+                if ((row + col) % 2 == 0)
+                    obstacles.add(x, y, size, size);
+                else
+                    coins.add(x, y, size, size);
+                ++added;
+            }
+        }
+        obstacleCollision.run();
+        coinCollection.run();
+        if (player.isHit() || coins.liveCount() < coins.size())
+            throw new IllegalStateException("Benchmark entities must not touch the player");
+    }
+
+    private boolean overlapsPlayer(double x, double y, double size) {
+        return x + size + 1 > player.getX() && x - 1 < player.getX() + player.getWidth()
+                && y + size + 1 > player.getY() && y - 1 < player.getY() + player.getHeight();
+    }
+
+    @Benchmark
+    public double obstacleCollision() {
+        obstacleCollision.run();
+        return players.get(Component.HIT, 0, 0);
+    }
+
+    @Benchmark
+    public int coinCollection() {
+        coinCollection.run();
+        return coins.liveCount();
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import game.input.InputState;
+import game.world.GameWorld;
+import ui.panels.GameContainer;
+import ui.panels.GamePanel;
+
+/**
+ * Measures {@code GamePanel.paintComponent()} rendering a frame into an offscreen
+ * BufferedImage, so it runs on headless machines too. The world is played for a
+ * while before measuring, so there are Obstacles and Coins to draw.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaintBenchmark {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+
+    /** Number of ticks played before measuring. */
+    @Param({"300"})
+    public int warmupTicks;
+
+    private GamePanel panel;
+    private BufferedImage image;
+    private Graphics2D g2d;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GameContainer container = new GameContainer(WIDTH, HEIGHT);
+        panel = container.getGamePanel();
+        panel.setSize(WIDTH, HEIGHT);
+
+        GameWorld world = panel.getWorld();
+        world.reset(42L);
+        Random inputRng = new Random(42L);
+        InputState input = new InputState();
+        for (int t = 0; t < warmupTicks; ++t) {
+            if (t % 20 == 0) input.setBits(inputRng.nextInt(InputState.ALL + 1));
+            if (!world.step(input)) world.reset(42L + t);
+        }
+        panel.publishSnapshot(); // paintComponent() draws the latest published state
+
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g2d = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g2d.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintComponent() {
+        panel.paintComponent(g2d);
+        return image;
+    }
+}
@@ -0,0 +1,127 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import game.ecs.Archetype;
+import game.entities.Coin;
+import game.entities.Obstacle;
+import game.spawn.SpawnBatch;
+import game.spawn.Spawner;
+import game.util.CoinFactory;
+import game.util.GameDifficulty;
+import game.util.ObstacleRowFactory;
+
+/**
+ * Measures the entity factories. The archetype is cleared after every call, so it doesn't
+ * grow during the benchmark; clearing a handful of entities is cheap compared to spawning.
+ * <p>
+ * The smaller the coin area and the more Coins requested, the more random positions are
+ * rejected because they overlap Coins placed before. {@code areaHeight = 100} leaves a
+ * strip of only 4 pixels for the Coin's Y coordinate, which is the worst case: some of the
+ * Coins don't fit and are given up after a bounded number of tries.
+ * <p>
+ * {@code generateSpawn} is what the game thread does when a spawn is due and no prefetched
+ * batch is available, {@code copySpawn} is all that's left for it when there is one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnBenchmark {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+
+    @State(Scope.Thread)
+    public static class ObstacleRowState {
+        @Param({"0.25", "0.5", "0.75"})
+        public float obstacleProbability;
+
+        ObstacleRowFactory factory;
+        Archetype entities;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            factory = new ObstacleRowFactory(WIDTH, HEIGHT);
+            factory.setRngSeed(42L);
+            entities = Obstacle.newArchetype();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CoinState {
+        @Param({"500", "150", "100"})
+        public int areaHeight;
+
+        @Param({"0", "4", "8"})
+        public int minCoins;
+
+        CoinFactory factory;
+        Archetype entities;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            factory = new CoinFactory(WIDTH, HEIGHT);
+            factory.setRngSeed(42L);
+            entities = Coin.newArchetype();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SpawnState {
+        @Param({"0.0", "0.5", "1.0"})
+        public double difficulty;
+
+        Spawner spawner;
+        GameDifficulty gameDifficulty;
+        SpawnBatch batch;
+        Archetype obstacles;
+        Archetype coins;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            spawner = new Spawner(WIDTH, HEIGHT);
+            spawner.reset(42L);
+            gameDifficulty = new GameDifficulty();
+            gameDifficulty.setDifficulty(difficulty);
+            batch = spawner.next(gameDifficulty);
+            obstacles = Obstacle.newArchetype();
+            coins = Coin.newArchetype();
+        }
+    }
+
+    @Benchmark
+    public int createObstacleRow(ObstacleRowState state) {
+        state.factory.createObstacleRow(state.obstacleProbability, state.entities);
+        int created = state.entities.size();
+        state.entities.clear();
+        return created;
+    }
+
+    @Benchmark
+    public int createCoinsInArea(CoinState state) {
+        state.factory.createCoinsInArea(state.areaHeight, state.minCoins, state.entities);
+        int created = state.entities.size();
+        state.entities.clear();
+        return created;
+    }
+
+    @Benchmark
+    public int generateSpawn(SpawnState state) {
+        SpawnBatch batch = state.spawner.next(state.gameDifficulty);
+        return batch.getObstacleCount() + batch.getCoinCount();
+    }
+
+    @Benchmark
+    public int copySpawn(SpawnState state) {
+        state.batch.copyObstaclesTo(state.obstacles);
+        state.batch.copyCoinsTo(state.coins);
+        int created = state.obstacles.size() + state.coins.size();
+        state.obstacles.clear();
+        state.coins.clear();
+        return created;
+    }
+}
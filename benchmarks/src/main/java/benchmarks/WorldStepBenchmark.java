@@ -0,0 +1,109 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import game.ecs.Archetype;
+import game.entities.Coin;
+import game.input.InputState;
+import game.world.GameWorld;
+
+/**
+ * Measures one simulation tick, i.e. what {@code GamePanel.update()} does apart from
+ * copying the keyboard state. The difficulty is pinned to a fixed level and the world
+ * is kept at a minimum number of scrolling entities by spawning extra Coins at the top
+ * edge, so the cost of a tick can be compared across difficulties and entity counts.
+ * With {@code parallel = true}, independent systems run on the common ForkJoinPool.
+ * <p>
+ * Restarting finished games and filling up the Coins
+ * happen in a per-invocation setup, so they are not part of the measured time. That
+ * adds a little timing overhead to each tick, which is the same for all parameters.
+ * The number of restarts is reported as the secondary result {@code resets}, and the
+ * run time of every system is printed at the end of each trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldStepBenchmark {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final int INPUT_HOLD_TICKS = 20;
+
+    @Param({"0.0", "0.5", "1.0"})
+    public double difficulty;
+
+    /** Minimum number of scrolling entities, 0 = only what the game spawns itself. */
+    @Param({"0", "200", "2000", "20000"})
+    public int entityCount;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    /** Secondary results, reported by JMH next to the time per tick. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long resets;
+    }
+
+    private GameWorld world;
+    private final InputState input = new InputState();
+    private int[] inputPattern;
+    private long tick;
+    private long seed;
+    private int fillerX;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random rng = new Random(42L);
+        inputPattern = new int[1024];
+        for (int i = 0; i < inputPattern.length; ++i) inputPattern[i] = rng.nextInt(InputState.ALL + 1);
+
+        seed = 42L;
+        world = new GameWorld(WIDTH, HEIGHT, parallel ? ForkJoinPool.commonPool() : null);
+        world.reset(seed);
+        world.getScheduler().setTimingEnabled(true);
+        tick = 0;
+        fillerX = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void printSystemTimings() {
+        System.out.println();
+        System.out.print(world.getScheduler().timingSummary());
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareTick(Counters counters) {
+        if (world.isGameOver()) {
+            world.reset(++seed);
+            ++counters.resets;
+        }
+        fillUp(world.getCoins());
+        world.getGameDifficulty().setDifficulty(difficulty);
+
+        if (tick % INPUT_HOLD_TICKS == 0)
+            input.setBits(inputPattern[(int) (tick / INPUT_HOLD_TICKS) % inputPattern.length]);
+        ++tick;
+    }
+
+    @Benchmark
+    public boolean step() {
+        return world.step(input);
+    }
+
+    /** Spawns Coins at the top edge until there are at least {@link #entityCount} of them. */
+    private void fillUp(Archetype coins) {
+        final int d = Coin.DEFAULT_COIN_DIAMETER;
+        while (coins.size() < entityCount) {
+            coins.add(fillerX, -d, d, d);
+            fillerX = (fillerX + 37) % (WIDTH - d);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package game.batch;
+
+import java.util.Arrays;
+
+/**
+ * Outcomes of a batch of simulated games. Every game writes only its own slot,
+ * so simulation tasks can fill the arrays in parallel without any locking.
+ */
+public class BatchResults {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    final int[] scores;
+    final long[] ticks;
+    final int[] obstacleHits;
+    final int[] coins;
+    final boolean[] survived; // Reached the tick limit without losing
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    BatchResults(int games) {
+        scores = new int[games];
+        ticks = new long[games];
+        obstacleHits = new int[games];
+        coins = new int[games];
+        survived = new boolean[games];
+    }
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    public int getGames() { return scores.length; }
+
+    public long getTotalTicks() {
+        long sum = 0;
+        for (long t : ticks) sum += t;
+        return sum;
+    }
+
+    /**
+     * Appends a report of the score, survival and collision distributions to the given builder.
+     */
+    public void appendReport(StringBuilder out) {
+        int survivors = 0;
+        for (boolean s : survived) if (s) ++survivors;
+
+        long[] sortedScores = new long[scores.length];
+        long[] sortedHits = new long[scores.length];
+        long[] sortedCoins = new long[scores.length];
+        for (int i = 0; i < scores.length; ++i) {
+            sortedScores[i] = scores[i];
+            sortedHits[i] = obstacleHits[i];
+            sortedCoins[i] = coins[i];
+        }
+        long[] sortedTicks = ticks.clone();
+
+        out.append(String.format("Games: %d, reached the tick limit: %d (%.1f%%)%n",
+                getGames(), survivors, 100.0 * survivors / Math.max(1, getGames())));
+        appendDistribution(out, "Score", sortedScores);
+        appendDistribution(out, "Survival ticks", sortedTicks);
+        appendDistribution(out, "Obstacle hits", sortedHits);
+        appendDistribution(out, "Coins", sortedCoins);
+        out.append("Score histogram:").append(System.lineSeparator());
+        appendHistogram(out, sortedScores, 10);
+    }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    private static void appendDistribution(StringBuilder out, String name, long[] values) {
+        Arrays.sort(values);
+        double mean = 0.0;
+        for (long v : values) mean += v;
+        mean /= Math.max(1, values.length);
+        out.append(String.format("%-15s mean %10.1f | min %8d  p10 %8d  p50 %8d  p90 %8d  p99 %8d  max %8d%n",
+                name, mean, values.length > 0 ? values[0] : 0, percentile(values, 0.10), percentile(values, 0.50),
+                percentile(values, 0.90), percentile(values, 0.99), values.length > 0 ? values[values.length - 1] : 0));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static void appendHistogram(StringBuilder out, long[] sorted, int bins) {
+        if (sorted.length == 0) return;
+        long min = sorted[0];
+        long max = sorted[sorted.length - 1];
+        long binWidth = Math.max(1, (max - min + bins) / bins);
+        int[] counts = new int[bins];
+        int maxCount = 0;
+        for (long v : sorted) {
+            int bin = (int) Math.min(bins - 1, (v - min) / binWidth);
+            maxCount = Math.max(maxCount, ++counts[bin]);
+        }
+        for (int b = 0; b < bins; ++b) {
+            long low = min + b * binWidth;
+            int barLength = (int) Math.round(50.0 * counts[b] / maxCount);
+            char[] bar = new char[barLength];
+            Arrays.fill(bar, '#');
+            out.append(String.format("  %8d .. %8d %7d %s%n", low, low + binWidth - 1, counts[b], new String(bar)));
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package game.batch;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import game.input.InputState;
+import game.world.GameWorld;
+
+/**
+ * Simulates many seeded games in parallel, e.g. to tune the GameDifficulty curves, and
+ * prints the distributions of scores, survival ticks and collisions plus the throughput.
+ * <p>
+ * The games are split into chunks that run as ForkJoin tasks. Each chunk has its own
+ * GameWorld and InputPolicy and writes its results into its own slots, so the tasks
+ * share nothing and the throughput should grow almost linearly with the cores.
+ * Game i is played with seed {@code seed + i}, so the results don't depend on the
+ * number of threads.
+ * <p>
+ * Usage: {@code java -Djava.awt.headless=true game.batch.BatchRunner [-games N] [-policy bot|random]
+ * [-seed S] [-threads T] [-maxTicks M] [-scaling] [-prefetch]}
+ * <br>With {@code -scaling}, the batch is run with 1, 2, 4, ... threads up to T to show the speedup.
+ * <br>With {@code -prefetch}, every world generates its spawns on a background thread. The results must
+ * be the same as without.
+ */
+public class BatchRunner {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final int RANDOM_HOLD_TICKS = 20;
+    private static final long POLICY_SEED_SALT = 0x5DEECE66DL; // Policy & world shouldn't draw the same numbers
+
+    private final int games;
+    private final long seed;
+    private final long maxTicks;
+    private final String policyName;
+    private boolean prefetchSpawns = false;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    /**
+     * @param games number of games to simulate
+     * @param seed seed of the first game
+     * @param maxTicks games still running after this many ticks are stopped and count as survived
+     * @param policyName "bot" or "random", see {@link #createPolicy(String)}
+     */
+    public BatchRunner(int games, long seed, long maxTicks, String policyName) {
+        this.games = games;
+        this.seed = seed;
+        this.maxTicks = maxTicks;
+        this.policyName = policyName;
+        createPolicy(policyName); // Fail early on unknown names
+    }
+
+    /**
+     * @param prefetchSpawns true to let every world generate its spawns on a background thread
+     */
+    public void setSpawnPrefetching(boolean prefetchSpawns) {
+        this.prefetchSpawns = prefetchSpawns;
+    }
+
+    public static InputPolicy createPolicy(String name) {
+        switch (name) {
+            case "bot": return new BotInputPolicy();
+            case "random": return new RandomInputPolicy(RANDOM_HOLD_TICKS);
+            default: throw new IllegalArgumentException("Unknown input policy: " + name);
+        }
+    }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Simulates all games using the given number of threads.
+     */
+    public BatchResults run(int threads) {
+        BatchResults results = new BatchResults(games);
+        // Enough chunks to keep all threads busy even if some games take much longer than others
+        int chunkSize = Math.max(1, games / (threads * 16));
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new GamesTask(results, 0, games, chunkSize));
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    /**
+     * Recursively splits a range of games until it's small enough to simulate directly.
+     */
+    private class GamesTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BatchResults results;
+        private final int from, to, chunkSize;
+
+        GamesTask(BatchResults results, int from, int to, int chunkSize) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                simulate(results, from, to);
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new GamesTask(results, from, mid, chunkSize), new GamesTask(results, mid, to, chunkSize));
+            }
+        }
+    }
+
+    /**
+     * Plays the games [from, to) one after another in a single world.
+     */
+    private void simulate(BatchResults results, int from, int to) {
+        GameWorld world = new GameWorld(WIDTH, HEIGHT);
+        world.setSpawnPrefetching(prefetchSpawns);
+        InputPolicy policy = createPolicy(policyName);
+        InputState input = new InputState();
+
+        try {
+            for (int game = from; game < to; ++game) {
+                long gameSeed = seed + game;
+                world.reset(gameSeed);
+                policy.reset(gameSeed ^ POLICY_SEED_SALT);
+
+                boolean running = true;
+                while (running && world.getTick() < maxTicks) {
+                    policy.nextInput(world, input);
+                    running = world.step(input);
+                }
+
+                results.scores[game] = world.getScore();
+                results.ticks[game] = world.getTick();
+                results.obstacleHits[game] = world.getObstacleHits();
+                results.coins[game] = world.getCoinsCollected();
+                results.survived[game] = running;
+            }
+        } finally {
+            world.setSpawnPrefetching(false); // Stops the background thread
+        }
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int games = 2000;
+        String policy = "bot";
+        long seed = 42L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long maxTicks = 60L * 60 * 10; // 10 minutes at 60 ticks/s
+        boolean scaling = false;
+        boolean prefetch = false;
+        for (int i = 0; i < args.length; ++i) {
+            switch (args[i]) {
+                case "-games": games = Integer.parseInt(args[++i]); break;
+                case "-policy": policy = args[++i]; break;
+                case "-seed": seed = Long.parseLong(args[++i]); break;
+                case "-threads": threads = Math.max(1, Integer.parseInt(args[++i])); break;
+                case "-maxTicks": maxTicks = Long.parseLong(args[++i]); break;
+                case "-scaling": scaling = true; break;
+                case "-prefetch": prefetch = true; break;
+                default: throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        BatchRunner runner = new BatchRunner(games, seed, maxTicks, policy);
+        runner.setSpawnPrefetching(prefetch);
+        System.out.printf("Simulating %d games with policy '%s', seeds %d..%d, max. %d ticks per game%n",
+                games, policy, seed, seed + games - 1, maxTicks);
+
+        runner.run(threads); // Warm up the JIT, so the first measured run isn't slower
+
+        double singleThreadRate = 0.0;
+        BatchResults results = null;
+        for (int t = scaling ? 1 : threads; t <= threads; t = (t == threads ? t + 1 : Math.min(threads, t * 2))) {
+            long start = System.nanoTime();
+            results = runner.run(t);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            double gamesPerSecond = games / seconds;
+            if (t == 1) singleThreadRate = gamesPerSecond;
+            System.out.printf("%2d thread(s): %.2f s, %.1f games/s, %.1f games/s per core, %.0f ticks/s%s%n",
+                    t, seconds, gamesPerSecond, gamesPerSecond / t, results.getTotalTicks() / seconds,
+                    singleThreadRate > 0 && t > 1
+                            ? String.format(", speedup %.2fx (%.0f%% efficiency)",
+                                    gamesPerSecond / singleThreadRate, 100.0 * gamesPerSecond / singleThreadRate / t)
+                            : "");
+        }
+
+        StringBuilder report = new StringBuilder();
+        results.appendReport(report);
+        System.out.print(report);
+    }
+}
@@ -0,0 +1,162 @@
+package game.batch;
+
+import game.ecs.Archetype;
+import game.entities.Player;
+import game.input.InputState;
+import game.world.GameWorld;
+
+/**
+ * A simple bot that plays like a cautious player: It looks at the next Obstacle row
+ * coming down, steers into the gap closest to it and backs off downward if it can't
+ * make it in time. Without an Obstacle row close by, it goes for the nearest Coin.
+ * It doesn't use any randomness, so its games only depend on the world's seed.
+ */
+public class BotInputPolicy implements InputPolicy {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private static final double GAP_MARGIN = 3.0;     // Keep this distance to the edges of a gap
+    private static final double DANGER_DISTANCE = 90.0; // Back off if the next row is closer than this and we're not in a gap
+    private static final double SPRINT_DISTANCE = 60.0; // Sprint if the target is further away horizontally
+    private static final int MAX_ROW_LENGTH = 64;
+
+    // X coordinates & widths of the Obstacles of the next row, reused every tick
+    private final double[] rowX = new double[MAX_ROW_LENGTH];
+    private final double[] rowWidth = new double[MAX_ROW_LENGTH];
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    @Override
+    public void reset(long seed) {
+        // Deterministic, nothing to do
+    }
+
+    @Override
+    public void nextInput(GameWorld world, InputState input) {
+        input.clear();
+        Player player = world.getPlayer();
+        Archetype obstacles = world.getObstacles();
+        Archetype coins = world.getCoins();
+        double px = player.getX();
+        double py = player.getY();
+        double pw = player.getWidth();
+        double ph = player.getHeight();
+
+        // Rest position: horizontally unchanged, in the lower part of the panel
+        double targetX = px;
+        double targetY = world.getHeight() - 2.5 * ph;
+        boolean backOff = false;
+
+        int row = nextObstacleRow(obstacles, py + ph);
+        if (row >= 0) {
+            double rowY = obstacles.getY(row);
+            int rowLength = collectRow(obstacles, row, rowY);
+            targetX = closestGapPosition(rowLength, px, pw, world.getWidth());
+
+            boolean inGap = Math.abs(targetX - px) < 1.0;
+            double distance = py - (rowY + obstacles.getHeight(row));
+            if (!inGap && distance < DANGER_DISTANCE) backOff = true;
+            if (inGap || distance > 2 * DANGER_DISTANCE) {
+                // Safe for now: pick up a Coin on the way, if it's in the same gap
+                int coin = nearestCoin(coins, px, py);
+                if (coin >= 0) {
+                    double coinX = coins.getX(coin) + coins.getWidth(coin) / 2.0 - pw / 2.0;
+                    if (inGap ? gapContains(rowLength, coinX, pw, world.getWidth()) : distance > 2 * DANGER_DISTANCE)
+                        targetX = coinX;
+                }
+            }
+        } else {
+            int coin = nearestCoin(coins, px, py);
+            if (coin >= 0) targetX = coins.getX(coin) + coins.getWidth(coin) / 2.0 - pw / 2.0;
+        }
+
+        // Horizontal movement
+        double dx = targetX - px;
+        if (dx < -1.0) input.setPressed(InputState.LEFT, true);
+        else if (dx > 1.0) input.setPressed(InputState.RIGHT, true);
+        if (Math.abs(dx) > SPRINT_DISTANCE || backOff) input.setPressed(InputState.SPRINT, true);
+
+        // Vertical movement
+        if (backOff || py < targetY - 2.0) input.setPressed(InputState.DOWN, true);
+        else if (py > targetY + 2.0) input.setPressed(InputState.UP, true);
+    }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    /**
+     * @return index of the lowest Obstacle that hasn't passed the Player yet, or -1 if there is none
+     */
+    private static int nextObstacleRow(Archetype obstacles, double playerBottom) {
+        for (int i = obstacles.bandStart(playerBottom); i < obstacles.size(); ++i) {
+            if (!obstacles.isRemoved(i)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Copies the Obstacles of the row starting at the given index into rowX/rowWidth, sorted by X.
+     * @return the number of Obstacles in the row
+     */
+    private int collectRow(Archetype obstacles, int first, double rowY) {
+        int count = 0;
+        for (int i = first; i < obstacles.size() && count < MAX_ROW_LENGTH; ++i) {
+            double y = obstacles.getY(i);
+            if (y < rowY - 0.5) break; // Sorted by Y, so the row is over
+            if (obstacles.isRemoved(i)) continue;
+
+            // Insertion sort, rows only have a handful of Obstacles
+            double x = obstacles.getX(i);
+            int j = count++;
+            while (j > 0 && rowX[j - 1] > x) {
+                rowX[j] = rowX[j - 1];
+                rowWidth[j] = rowWidth[j - 1];
+                --j;
+            }
+            rowX[j] = x;
+            rowWidth[j] = obstacles.getWidth(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return the X coordinate within a gap of the current row that is closest to the Player
+     */
+    private double closestGapPosition(int rowLength, double px, double pw, double panelWidth) {
+        double best = px;
+        double bestDistance = Double.MAX_VALUE;
+        double gapStart = 0.0;
+        for (int i = 0; i <= rowLength; ++i) {
+            double gapEnd = i < rowLength ? rowX[i] : panelWidth;
+            double minX = gapStart + GAP_MARGIN;
+            double maxX = gapEnd - pw - GAP_MARGIN;
+            if (maxX >= minX) {
+                double x = Math.max(minX, Math.min(px, maxX));
+                double distance = Math.abs(x - px);
+                if (distance < bestDistance) {
+                    best = x;
+                    bestDistance = distance;
+                }
+            }
+            if (i < rowLength) gapStart = Math.max(gapStart, rowX[i] + rowWidth[i]);
+        }
+        return best;
+    }
+
+    private boolean gapContains(int rowLength, double x, double pw, double panelWidth) {
+        return Math.abs(closestGapPosition(rowLength, x, pw, panelWidth) - x) < 1.0;
+    }
+
+    /**
+     * @return index of the closest Coin above the Player, or -1 if there is none
+     */
+    private static int nearestCoin(Archetype coins, double px, double py) {
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int i = coins.bandStart(py); i < coins.size(); ++i) {
+            if (coins.isRemoved(i)) continue;
+            double distance = Math.abs(coins.getX(i) - px) + (py - coins.getY(i));
+            if (distance < bestDistance) {
+                best = i;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+}
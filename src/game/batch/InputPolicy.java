@@ -0,0 +1,25 @@
+package game.batch;
+
+import game.input.InputState;
+import game.world.GameWorld;
+
+/**
+ * Decides the input of a simulated player, tick by tick.
+ * Every simulation task uses its own instance, so implementations don't have to be thread-safe.
+ */
+public interface InputPolicy {
+    /**
+     * Prepares the policy for a new game.
+     *
+     * @param seed seed for any randomness of the policy
+     */
+    void reset(long seed);
+
+    /**
+     * Decides the input for the next tick of the given world.
+     *
+     * @param world the world before the tick
+     * @param input receives the input
+     */
+    void nextInput(GameWorld world, InputState input);
+}
@@ -0,0 +1,38 @@
+package game.batch;
+
+import java.util.Random;
+
+import game.input.InputState;
+import game.world.GameWorld;
+
+/**
+ * Presses random keys and holds them for a fixed number of ticks, like a player mashing buttons.
+ */
+public class RandomInputPolicy implements InputPolicy {
+    private final Random rng = new Random();
+    private final int holdTicks;
+    private int ticksLeft = 0;
+    private int bits = 0;
+
+    /**
+     * @param holdTicks number of ticks each random input is held
+     */
+    public RandomInputPolicy(int holdTicks) {
+        this.holdTicks = Math.max(1, holdTicks);
+    }
+
+    @Override
+    public void reset(long seed) {
+        rng.setSeed(seed);
+        ticksLeft = 0;
+    }
+
+    @Override
+    public void nextInput(GameWorld world, InputState input) {
+        if (ticksLeft-- <= 0) {
+            bits = rng.nextInt(InputState.ALL + 1);
+            ticksLeft = holdTicks - 1;
+        }
+        input.setBits(bits);
+    }
+}
@@ -0,0 +1,295 @@
+package game.ecs;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A table of all entities that have exactly the same components.
+ * <p>
+ * Each column of each component is a dense array of doubles indexed by row, so a system
+ * that only needs the Y coordinates of all Obstacles runs through a single array. Rows
+ * are kept sorted by descending Y (row 0 is the lowest entity on the panel): entities are
+ * inserted at the matching row, and since the systems only move whole archetypes by the same
+ * distance, the order never changes afterwards. This lets {@link #bandStart(double)} and
+ * {@link #bandEnd(double)} find the entities overlapping a horizontal band with binary searches.
+ * <p>
+ * Removing an entity only marks its row. Marked rows are skipped by the systems and dropped
+ * by {@link #compact(double)}, which keeps the order of the remaining rows. Row indices are
+ * only valid until the next insertion or compaction. Column arrays may be replaced when
+ * the table grows, so systems have to fetch them with {@link #column(Component, int)} every
+ * time they run.
+ */
+public class Archetype {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final String name;
+    private final Set<Component> components;
+    private final int[] firstColumn; // Index of the first column of each component (by ordinal), -1 if missing
+    private final int columnCount;
+
+    private double[][] columns;
+    private boolean[] removed;
+    private int size = 0;
+    private int removedCount = 0;
+
+    /** Height of the tallest entity ever added, defines how far band queries have to look upward. */
+    private double maxEntityHeight = 0.0;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    /**
+     * @param name name used in access keys and reports, e.g. "coins"
+     * @param components the components besides POSITION & SIZE, which every archetype has
+     */
+    public Archetype(String name, Component... components) {
+        this.name = name;
+        EnumSet<Component> set = EnumSet.of(Component.POSITION, Component.SIZE);
+        Collections.addAll(set, components);
+        this.components = Collections.unmodifiableSet(set);
+
+        firstColumn = new int[Component.values().length];
+        Arrays.fill(firstColumn, -1);
+        int column = 0;
+        for (Component component : set) {
+            firstColumn[component.ordinal()] = column;
+            column += component.getFields();
+        }
+        columnCount = column;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        double[][] newColumns = new double[columnCount][capacity];
+        boolean[] newRemoved = new boolean[capacity];
+        if (columns != null) {
+            for (int c = 0; c < columnCount; ++c) System.arraycopy(columns[c], 0, newColumns[c], 0, size);
+            System.arraycopy(removed, 0, newRemoved, 0, size);
+        }
+        columns = newColumns;
+        removed = newRemoved;
+    }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Adds an entity at the row that keeps the table sorted by descending Y.
+     * All other columns of the new row are 0.0.
+     *
+     * @return the row of the new entity
+     */
+    public int add(double posX, double posY, double width, double height) {
+        if (size == removed.length) allocate(size * 2);
+
+        // Usually the new entity is the highest one and goes to the end. If it isn't,
+        // the rows above it are shifted up by one.
+        double[] ys = columns[firstColumn[Component.POSITION.ordinal()] + Component.Y];
+        int row = size;
+        while (row > 0 && ys[row - 1] < posY) --row;
+        if (row < size) {
+            for (double[] column : columns) System.arraycopy(column, row, column, row + 1, size - row);
+            System.arraycopy(removed, row, removed, row + 1, size - row);
+        }
+        for (double[] column : columns) column[row] = 0.0;
+        removed[row] = false;
+        ++size;
+
+        set(Component.POSITION, row, posX, posY);
+        set(Component.SIZE, row, width, height);
+        maxEntityHeight = Math.max(maxEntityHeight, height);
+        return row;
+    }
+
+    /**
+     * Marks the entity in the given row as removed. The row is dropped by the next {@link #compact(double)}.
+     */
+    public void remove(int row) {
+        checkRow(row);
+        if (removed[row]) return;
+        removed[row] = true;
+        ++removedCount;
+    }
+
+    public boolean isRemoved(int row) { return removed[row]; }
+
+    /**
+     * Drops all removed rows and all entities whose upper edge is below the given Y coordinate.
+     * The order of the remaining rows doesn't change.
+     *
+     * @return number of dropped rows
+     */
+    public int compact(double limitY) {
+        double[] ys = columns[firstColumn[Component.POSITION.ordinal()] + Component.Y];
+        // Sorted by descending Y, so the entities below the limit are at the start
+        int first = 0;
+        while (first < size && ys[first] > limitY) ++first;
+        if (first == 0 && removedCount == 0) return 0;
+
+        // Move the runs of live rows between removed ones, a whole column at a time
+        int kept = 0;
+        int row = first;
+        while (row < size) {
+            while (row < size && removed[row]) ++row;
+            int runStart = row;
+            while (row < size && !removed[row]) ++row;
+            int runLength = row - runStart;
+            if (runLength > 0 && kept != runStart) {
+                for (double[] column : columns) System.arraycopy(column, runStart, column, kept, runLength);
+            }
+            kept += runLength;
+        }
+        Arrays.fill(removed, 0, size, false);
+        int dropped = size - kept;
+        size = kept;
+        removedCount = 0;
+        return dropped;
+    }
+
+    public void clear() {
+        Arrays.fill(removed, 0, size, false);
+        size = 0;
+        removedCount = 0;
+    }
+
+    /**
+     * @return number of rows, including removed entities that haven't been compacted yet
+     */
+    public int size() { return size; }
+
+    /**
+     * @return number of entities that haven't been removed
+     */
+    public int liveCount() { return size - removedCount; }
+
+    public boolean has(Component component) { return firstColumn[component.ordinal()] >= 0; }
+
+    public Set<Component> getComponents() { return components; }
+
+    public String getName() { return name; }
+
+    /**
+     * Returns the array that stores the given column for all rows. Only valid until the table grows.
+     *
+     * @param field index of the column within the component, e.g. {@link Component#Y}
+     */
+    public double[] column(Component component, int field) {
+        int first = firstColumn[component.ordinal()];
+        if (first < 0 || field < 0 || field >= component.getFields())
+            throw new IllegalArgumentException(name + " has no column " + component + "[" + field + "]");
+        return columns[first + field];
+    }
+
+    public double get(Component component, int field, int row) {
+        checkRow(row);
+        return column(component, field)[row];
+    }
+
+    public void set(Component component, int row, double value) {
+        checkRow(row);
+        column(component, 0)[row] = value;
+    }
+
+    public void set(Component component, int row, double value0, double value1) {
+        checkRow(row);
+        column(component, 0)[row] = value0;
+        column(component, 1)[row] = value1;
+    }
+
+    public double getX(int row) { return get(Component.POSITION, Component.X, row); }
+
+    public double getY(int row) { return get(Component.POSITION, Component.Y, row); }
+
+    public double getWidth(int row) { return get(Component.SIZE, Component.WIDTH, row); }
+
+    public double getHeight(int row) { return get(Component.SIZE, Component.HEIGHT, row); }
+
+    /**
+     * @return row of the newest (highest) entity that hasn't been removed, or -1 if there is none
+     */
+    public int lastLiveRow() {
+        for (int row = size - 1; row >= 0; --row) {
+            if (!removed[row]) return row;
+        }
+        return -1;
+    }
+
+    /*++++++++++++++++++++++++ ACCESS KEYS +++++++++++++++++++++++++++*/
+    /**
+     * @return the key systems use to declare that they read or write the given component of this archetype
+     */
+    public String key(Component component) {
+        return name + "." + component;
+    }
+
+    /**
+     * @return the key for adding & removing entities. Every system that iterates the rows reads it.
+     */
+    public String rowsKey() {
+        return name + ".rows";
+    }
+
+    /**
+     * @return the keys of all columns plus the rows key, for systems that add entities
+     */
+    public String[] allKeys() {
+        String[] keys = new String[components.size() + 1];
+        int i = 0;
+        for (Component component : components) keys[i++] = key(component);
+        keys[i] = rowsKey();
+        return keys;
+    }
+
+    /*++++++++++++++++++++++++ BAND QUERIES ++++++++++++++++++++++++++*/
+    /**
+     * Returns the first (lowest) row whose top edge lies above the given Y coordinate,
+     * i.e. the first entity that may overlap a band with that bottom edge.
+     *
+     * @param bandBottom Y coordinate of the lower edge of the band
+     * @return the first candidate row, or size() if there is none
+     */
+    public int bandStart(double bandBottom) {
+        return firstRowAbove(bandBottom);
+    }
+
+    /**
+     * Returns the row after the last (highest) entity that may overlap a band with the given top edge.
+     * Rows at or after this index lie completely above the band.
+     *
+     * @param bandTop Y coordinate of the upper edge of the band
+     * @return exclusive end row of the candidates
+     */
+    public int bandEnd(double bandTop) {
+        // An entity reaches into the band if y + height > bandTop, so y > bandTop - maxEntityHeight
+        return firstRowAbove(Math.nextUp(bandTop - maxEntityHeight));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d entities (%d removed), capacity %d", name, size, removedCount, removed.length);
+    }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    /**
+     * Binary search for the first row whose Y coordinate is less than the given value.
+     */
+    private int firstRowAbove(double limitY) {
+        double[] ys = columns[firstColumn[Component.POSITION.ordinal()] + Component.Y];
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ys[mid] < limitY)
+                high = mid;
+            else
+                low = mid + 1;
+        }
+        return low;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size)
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+    }
+}
@@ -0,0 +1,37 @@
+package game.ecs;
+
+/**
+ * The components an entity can have. Each component is stored as one or more columns of
+ * doubles in its {@link Archetype}, tags have no columns and only mark what an entity is.
+ * <p>
+ * Every entity has a POSITION (upper left corner) and a SIZE (width & height of its bounding box).
+ */
+public enum Component {
+    POSITION(2),          // x, y
+    SIZE(2),              // width, height
+    PREVIOUS_POSITION(2), // x, y at the start of the current tick, for render interpolation
+    SPEED(1),             // pixels per tick
+    ROTATION(1),          // degrees
+    HIT(1),               // 1.0 if the entity touched an Obstacle in the current tick, else 0.0
+
+    // Tags
+    SCROLLING(0),         // Moves down with the world
+    OBSTACLE(0),
+    COIN(0),
+    PLAYER(0);
+
+    /** Column indices within a component, e.g. {@code column(POSITION, Y)}. */
+    public static final int X = 0, Y = 1;
+    public static final int WIDTH = 0, HEIGHT = 1;
+
+    private final int fields;
+
+    Component(int fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * @return the number of columns of this component, 0 for tags
+     */
+    public int getFields() { return fields; }
+}
@@ -0,0 +1,69 @@
+package game.ecs;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A piece of game logic that runs once per tick on the components of some archetypes.
+ * <p>
+ * Every system declares what it reads and writes as a set of access keys: the keys of
+ * archetype components (see {@link Archetype#key(Component)}), the rows key of archetypes
+ * it adds entities to or removes them from, and plain names for shared state outside the
+ * archetypes (e.g. "score"). The {@link SystemScheduler} runs two systems at the same time
+ * only if neither writes anything the other one reads or writes, so a system must not
+ * touch anything it didn't declare.
+ */
+public abstract class EcsSystem {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final String name;
+    private final Set<String> reads = new LinkedHashSet<>();
+    private final Set<String> writes = new LinkedHashSet<>();
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    protected EcsSystem(String name) {
+        this.name = name;
+    }
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Runs the system for the current tick.
+     */
+    public abstract void run();
+
+    /**
+     * Declares keys this system reads. Should be called in the constructor.
+     */
+    protected void reads(String... keys) {
+        Collections.addAll(reads, keys);
+    }
+
+    /**
+     * Declares keys this system writes (which includes reading them). Should be called in the constructor.
+     */
+    protected void writes(String... keys) {
+        Collections.addAll(writes, keys);
+    }
+
+    /**
+     * @return true if this system and the other one must not run at the same time
+     */
+    public boolean conflictsWith(EcsSystem other) {
+        for (String key : writes) {
+            if (other.reads.contains(key) || other.writes.contains(key)) return true;
+        }
+        for (String key : other.writes) {
+            if (reads.contains(key)) return true;
+        }
+        return false;
+    }
+
+    public String getName() { return name; }
+
+    public Set<String> getReads() { return Collections.unmodifiableSet(reads); }
+
+    public Set<String> getWrites() { return Collections.unmodifiableSet(writes); }
+
+    @Override
+    public String toString() { return name; }
+}
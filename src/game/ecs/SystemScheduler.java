@@ -0,0 +1,224 @@
+package game.ecs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import game.profiling.PhaseHistogram;
+
+/**
+ * Runs a list of systems once per tick, in parallel where their declared accesses allow it.
+ * <p>
+ * The systems are grouped into stages: every system goes into the first stage after the last
+ * stage that holds a system it conflicts with (see {@link EcsSystem#conflictsWith(EcsSystem)}).
+ * So conflicting systems always run in the order they were added, and the result doesn't
+ * depend on whether the stages run in parallel or one system after the other. Stages with
+ * more than one system are run as ForkJoin tasks if the scheduler has a pool (or in the pool of
+ * the calling thread, if that already is a ForkJoin worker). The tasks are
+ * created once and reinitialized every tick, and without a pool nothing is allocated at all.
+ * <p>
+ * Optionally, the run time of every system is recorded in a histogram of its own.
+ */
+public class SystemScheduler {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final ForkJoinPool pool; // null = run everything on the calling thread
+
+    private final List<EcsSystem> systems = new ArrayList<>();
+    private SystemTask[][] stages; // Built on the first run after a system was added
+    private SystemTask[] tasks;    // Same tasks in the order the systems were added
+
+    private boolean timingEnabled = false;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    /**
+     * @param pool the pool that runs the systems of a stage in parallel, or null to run all systems sequentially
+     */
+    public SystemScheduler(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Appends a system. It runs after all systems added before that it conflicts with.
+     */
+    public void add(EcsSystem system) {
+        systems.add(system);
+        stages = null;
+    }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Runs all systems once.
+     */
+    public void run() {
+        if (stages == null) buildStages();
+        for (SystemTask[] stage : stages) {
+            if (stage.length == 1 || pool == null) {
+                for (SystemTask task : stage) task.runSystem();
+            } else {
+                StageTask stageTask = stage[0].stageTask;
+                stageTask.reinitialize();
+                for (SystemTask task : stage) task.reinitialize();
+                // A worker of another pool (e.g. the BatchRunner's) would block while waiting for ours,
+                // so its stages are forked into its own pool instead
+                if (ForkJoinTask.inForkJoinPool())
+                    stageTask.invoke();
+                else
+                    pool.invoke(stageTask);
+            }
+        }
+    }
+
+    /**
+     * @param timingEnabled true to record the run time of every system, see {@link #getTimings(EcsSystem)}
+     */
+    public void setTimingEnabled(boolean timingEnabled) {
+        this.timingEnabled = timingEnabled;
+    }
+
+    public boolean isParallel() { return pool != null; }
+
+    public List<EcsSystem> getSystems() { return Collections.unmodifiableList(systems); }
+
+    /**
+     * @return the systems grouped by stage, the systems of a stage may run at the same time
+     */
+    public List<List<EcsSystem>> getStages() {
+        if (stages == null) buildStages();
+        List<List<EcsSystem>> result = new ArrayList<>();
+        for (SystemTask[] stage : stages) {
+            List<EcsSystem> names = new ArrayList<>();
+            for (SystemTask task : stage) names.add(task.system);
+            result.add(names);
+        }
+        return result;
+    }
+
+    /**
+     * @param index index of the system in the order the systems were added
+     * @return run time of the system in its last run, in nanoseconds (0 if timing is disabled)
+     */
+    public long getLastNanos(int index) {
+        if (stages == null) buildStages();
+        return tasks[index].lastNanos;
+    }
+
+    /**
+     * @return the run times of the system in nanoseconds, since the timings were last reset
+     */
+    public PhaseHistogram getTimings(EcsSystem system) {
+        return task(system).timings;
+    }
+
+    public void resetTimings() {
+        if (stages == null) buildStages();
+        for (SystemTask task : tasks) task.timings.reset();
+    }
+
+    /**
+     * @return one line per stage with the mean & 99th percentile run time of its systems
+     */
+    public String timingSummary() {
+        if (stages == null) buildStages();
+        StringBuilder out = new StringBuilder();
+        for (int s = 0; s < stages.length; ++s) {
+            out.append(String.format("stage %d:", s));
+            for (SystemTask task : stages[s]) {
+                out.append(String.format(" %s mean=%.1fus p99=%.1fus;", task.system.getName(),
+                        task.timings.getMean() / 1e3, task.timings.percentile(0.99) / 1e3));
+            }
+            out.append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    private void buildStages() {
+        int[] stageOf = new int[systems.size()];
+        int stageCount = 0;
+        for (int i = 0; i < systems.size(); ++i) {
+            int stage = 0;
+            for (int j = 0; j < i; ++j) {
+                if (systems.get(i).conflictsWith(systems.get(j))) stage = Math.max(stage, stageOf[j] + 1);
+            }
+            stageOf[i] = stage;
+            stageCount = Math.max(stageCount, stage + 1);
+        }
+
+        List<List<SystemTask>> grouped = new ArrayList<>();
+        for (int s = 0; s < stageCount; ++s) grouped.add(new ArrayList<SystemTask>());
+        tasks = new SystemTask[systems.size()];
+        for (int i = 0; i < systems.size(); ++i) {
+            tasks[i] = new SystemTask(systems.get(i));
+            grouped.get(stageOf[i]).add(tasks[i]);
+        }
+
+        stages = new SystemTask[stageCount][];
+        for (int s = 0; s < stageCount; ++s) {
+            stages[s] = grouped.get(s).toArray(new SystemTask[0]);
+            StageTask stageTask = new StageTask(stages[s]);
+            for (SystemTask task : stages[s]) task.stageTask = stageTask;
+        }
+    }
+
+    private SystemTask task(EcsSystem system) {
+        int index = systems.indexOf(system);
+        if (index < 0) throw new IllegalArgumentException("Unknown system: " + system);
+        if (stages == null) buildStages();
+        return tasks[index];
+    }
+
+    /**
+     * Runs one system and records its run time. Also the ForkJoin task of the system within its stage.
+     */
+    private class SystemTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final EcsSystem system;
+        final PhaseHistogram timings = new PhaseHistogram(); // Only written by the thread that runs the system
+        long lastNanos = 0;
+        StageTask stageTask;
+
+        SystemTask(EcsSystem system) {
+            this.system = system;
+        }
+
+        void runSystem() {
+            if (!timingEnabled) {
+                system.run();
+                return;
+            }
+            long start = System.nanoTime();
+            system.run();
+            lastNanos = System.nanoTime() - start;
+            timings.record(lastNanos);
+        }
+
+        @Override
+        protected void compute() {
+            runSystem();
+        }
+    }
+
+    /**
+     * Forks all systems of a stage and waits until they are done.
+     */
+    private static class StageTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SystemTask[] tasks;
+
+        StageTask(SystemTask[] tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tasks);
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package game.entities;
 
+import game.ecs.Archetype;
+import game.ecs.Component;
 import game.util.ResourceHelper;
 
 import java.awt.*;
-import java.awt.geom.Ellipse2D;
 import java.awt.image.BufferedImage;
 
-public class Coin extends BaseEntity<Ellipse2D.Double> {
+/**
+ * Constants & sprite of the Coins. Coins are circles stored in the "coins" {@link Archetype}.
+ */
+public class Coin {
     /**
      * Default diameter of the coins, in pixels.
      */
@@ -15,29 +19,19 @@ public class Coin extends BaseEntity<Ellipse2D.Double> {
     private static final BufferedImage sprite = ResourceHelper.loadAndScaleImage(
             "/images/banana1.png", DEFAULT_COIN_DIAMETER, DEFAULT_COIN_DIAMETER);
 
-    private final int posX; // Remains constant
+    private Coin() {}
 
-    public Coin(double posX, double posY, double width, double height, int panelWidth, int panelHeight) {
-        super(posX, posY, width, height, panelWidth, panelHeight);
-        this.hitboxColor = Color.ORANGE;
-        this.posX = (int)Math.round(this.getX());
-    }
-
-    public Coin(double posX, double posY, int panelWidth, int panelHeight) {
-        this(posX, posY, DEFAULT_COIN_DIAMETER, DEFAULT_COIN_DIAMETER, panelWidth, panelHeight);
-    }
-
-    @Override
-    protected Ellipse2D.Double createHitbox(double posX, double posY, double width, double height) {
-        return new Ellipse2D.Double(posX, posY, width, height);
-    }
-
-    @Override
-    public void draw(Graphics2D g2d) {
-        g2d.drawImage(sprite, posX, (int)Math.round(hitbox.y), null);
+    /**
+     * @return a new, empty archetype for Coins
+     */
+    public static Archetype newArchetype() {
+        return new Archetype("coins", Component.SCROLLING, Component.COIN);
     }
 
-    public void moveDown(double speed) {
-        hitbox.y += speed;
+    /**
+     * Draws a Coin at the given position, e.g. from a {@link game.world.RenderSnapshot}.
+     */
+    public static void draw(Graphics2D g2d, double posX, double posY) {
+        g2d.drawImage(sprite, (int)Math.round(posX), (int)Math.round(posY), null);
     }
 }
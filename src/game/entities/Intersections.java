@@ -0,0 +1,53 @@
+package game.entities;
+
+/**
+ * Intersection tests for the shapes used as hitboxes, working on plain coordinates.
+ * Unlike the generic {@link java.awt.Shape} methods, they don't create any temporary objects.
+ * Touching shapes (distance exactly 0) don't count as intersecting.
+ */
+public final class Intersections {
+    private Intersections() {}
+
+    /**
+     * @param cx X coordinate of the circle's center
+     * @param cy Y coordinate of the circle's center
+     * @param radius radius of the circle
+     * @param rx X coordinate of the rectangle's upper left corner
+     * @param ry Y coordinate of the rectangle's upper left corner
+     */
+    public static boolean circleIntersectsRect(double cx, double cy, double radius,
+                                               double rx, double ry, double rw, double rh) {
+        if (rw <= 0.0 || rh <= 0.0) return false;
+        // Distance from the center to the nearest point of the rectangle
+        double dx = cx - Math.max(rx, Math.min(cx, rx + rw));
+        double dy = cy - Math.max(ry, Math.min(cy, ry + rh));
+        return dx * dx + dy * dy < radius * radius;
+    }
+
+    /**
+     * @param cx1 X coordinate of the first circle's center
+     * @param cy1 Y coordinate of the first circle's center
+     * @param cx2 X coordinate of the second circle's center
+     * @param cy2 Y coordinate of the second circle's center
+     */
+    public static boolean circleIntersectsCircle(double cx1, double cy1, double radius1,
+                                                 double cx2, double cy2, double radius2) {
+        double dx = cx1 - cx2;
+        double dy = cy1 - cy2;
+        double radii = radius1 + radius2;
+        return dx * dx + dy * dy < radii * radii;
+    }
+
+    /**
+     * @param x1 X coordinate of the first rectangle's upper left corner
+     * @param y1 Y coordinate of the first rectangle's upper left corner
+     * @param x2 X coordinate of the second rectangle's upper left corner
+     * @param y2 Y coordinate of the second rectangle's upper left corner
+     */
+    public static boolean rectIntersectsRect(double x1, double y1, double w1, double h1,
+                                             double x2, double y2, double w2, double h2) {
+        return w1 > 0.0 && h1 > 0.0 && w2 > 0.0 && h2 > 0.0
+                && x1 < x2 + w2 && x2 < x1 + w1
+                && y1 < y2 + h2 && y2 < y1 + h1;
+    }
+}
@@ -1,27 +1,30 @@
 package game.entities;
 
-import java.awt.geom.Rectangle2D;
+import game.ecs.Archetype;
+import game.ecs.Component;
 
-public class Obstacle extends BaseEntity<Rectangle2D.Double> {
+import java.awt.Color;
+
+/**
+ * Constants of the Obstacles. Obstacles are rectangles stored in the "obstacles" {@link Archetype}.
+ */
+public class Obstacle {
     /**
      * Default height of the obstacles in an obstacle row, in pixels.
      */
     public static final int DEFAULT_HEIGHT = 10;
 
-    public Obstacle(double posX, double posY, double width, double height, int panelWidth, int panelHeight) {
-        super(posX, posY, width, height, panelWidth, panelHeight);
-    }
-
-    public Obstacle(double posX, double posY, double width, int panelWidth, int panelHeight) {
-        this(posX, posY, width, DEFAULT_HEIGHT, panelWidth, panelHeight);
-    }
+    /**
+     * Fill color of all obstacles.
+     */
+    public static final Color COLOR = Color.gray;
 
-    @Override
-    protected Rectangle2D.Double createHitbox(double posX, double posY, double width, double height) {
-        return new Rectangle2D.Double(posX, posY, width, height);
-    }
+    private Obstacle() {}
 
-    public void moveDown(double speed) {
-        hitbox.y += speed;
+    /**
+     * @return a new, empty archetype for Obstacles
+     */
+    public static Archetype newArchetype() {
+        return new Archetype("obstacles", Component.SCROLLING, Component.OBSTACLE);
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,21 @@
 package game.entities;
 
-import game.input.KeyboardInput;
+import game.ecs.Archetype;
+import game.ecs.Component;
 import game.util.ResourceHelper;
+import game.util.RotatedSprite;
 
 import java.awt.*;
-import java.awt.geom.AffineTransform;
 import java.awt.geom.Ellipse2D;
-import java.awt.geom.Rectangle2D;
-import java.awt.image.BufferedImage;
-import java.util.List;
 
-public class Player extends BaseEntity<Ellipse2D.Double> {
+/**
+ * Constants & sprite of the Player, and a read-only view of one Player in the "players" {@link Archetype}.
+ * The Player is moved by the systems in {@code game.systems}, e.g. the PlayerInputSystem.
+ * <p>
+ * Unlike Obstacles & Coins, Players don't move together, so the rows of their archetype
+ * aren't sorted by Y. That's fine since nothing runs band queries on them.
+ */
+public class Player {
 
     /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
     public static final double DEFAULT_WIDTH = 56.0;
@@ -18,178 +23,115 @@ public class Player extends BaseEntity<Ellipse2D.Double> {
     public static final double DEFAULT_SPEED = 2.0;
     public static final double BOOST_SPEED = 5.0;
 
-    private boolean isHit = false;
+    public static final double ROTATE_DEGREES = 25.0; // Degrees to rotate left or right based on input
+    public static final double BOOST_ROTATE_FACTOR = 1.5; // Multiplier for rotation while speed boosting / sprinting
 
-    // TODO create Sprite class?
-    private final BufferedImage sprite =
-            //ResourceHelper.loadImage("/images/spaceship_with_ape.png");
-            ResourceHelper.loadAndScaleImage("/images/spaceship_with_ape.png", (int)DEFAULT_WIDTH, (int)DEFAULT_HEIGHT);
-    private double spriteRotation = 0.0;
-    private static final double ROTATE_DEGREES = 25.0; // Degrees to rotate left or right based on input
-    private static final double BOOST_ROTATE_FACTOR = 1.5; // Multiplier for rotation while speed boosting / sprinting
+    // All possible rotations (0, +-25 & +-37.5 degrees) are pre-rendered once and shared by all Players
+    private static final RotatedSprite sprite = new RotatedSprite(
+            ResourceHelper.loadAndScaleImage("/images/spaceship_with_ape.png", (int)DEFAULT_WIDTH, (int)DEFAULT_HEIGHT),
+            ROTATE_DEGREES * BOOST_ROTATE_FACTOR, ROTATE_DEGREES * BOOST_ROTATE_FACTOR - ROTATE_DEGREES);
+    private static final Stroke HIT_STROKE = new BasicStroke(3f);
+    // Outline of the hit feedback, reused by every draw() call. Drawing happens on one thread only, like the sprite.
+    private static final Ellipse2D.Double hitbox = new Ellipse2D.Double();
+
+    private final Archetype players;
+    private final int row;
 
     /*------------------------- ATTRIBUTES -------------------------*/
 
     /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
-    public Player(double posX, double posY, int panelWidth, int panelHeight) {
-        // Call parent class constructor and set some attributes
-        super(posX, posY, DEFAULT_WIDTH, DEFAULT_HEIGHT, panelWidth, panelHeight);
-        hitboxColor = Color.green;
-        speed = DEFAULT_SPEED;
+    /**
+     * Creates a view of the Player in the given row. Only valid until a Player is added or removed.
+     */
+    public Player(Archetype players, int row) {
+        if (!players.has(Component.PLAYER))
+            throw new IllegalArgumentException(players.getName() + " has no Players");
+        this.players = players;
+        this.row = row;
+    }
+
+    /**
+     * @return a new, empty archetype for Players
+     */
+    public static Archetype newArchetype() {
+        return new Archetype("players", Component.PREVIOUS_POSITION, Component.SPEED,
+                Component.ROTATION, Component.HIT, Component.PLAYER);
     }
 
-    @Override
-    protected Ellipse2D.Double createHitbox(double posX, double posY, double width, double height) {
-        // For now, we use a simple Ellipse/Circle as hitbox
-        return new Ellipse2D.Double(posX, posY, width, height);
+    /**
+     * Adds a Player with the default size & speed at the given position.
+     *
+     * @return the row of the new Player
+     */
+    public static int spawn(Archetype players, double posX, double posY) {
+        int row = players.add(posX, posY, DEFAULT_WIDTH, DEFAULT_HEIGHT);
+        players.set(Component.PREVIOUS_POSITION, row, posX, posY);
+        players.set(Component.SPEED, row, DEFAULT_SPEED);
+        return row;
     }
     /*-------------------- CONSTRUCTORS / INIT ---------------------*/
 
     /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
-    @Override
-    public void draw(Graphics2D g2d) {
+    /**
+     * Draws a Player with the given state, e.g. from a {@link game.world.RenderSnapshot}.
+     *
+     * @param posX X coordinate of the Player's upper left corner
+     * @param posY Y coordinate of the Player's upper left corner
+     * @param rotation rotation of the sprite in degrees
+     * @param hit true if the Player currently touches an Obstacle
+     */
+    public static void draw(Graphics2D g2d, double posX, double posY, double rotation, boolean hit) {
 
         // Feedback if player hits an obstacle: Draw red hitbox outline.
-        if(this.isHit) {
+        if(hit) {
             g2d.setColor(Color.red);
-            g2d.setStroke(new BasicStroke(3f));
+            g2d.setStroke(HIT_STROKE);
+            hitbox.setFrame(posX, posY, DEFAULT_WIDTH, DEFAULT_HEIGHT);
             g2d.draw(hitbox);
         }
 
-        // Use affine transform for positioning & rotating of the spaceship image
-        AffineTransform at = new AffineTransform();
-        at.translate(hitbox.x, hitbox.y);
-        //at.scale(DEFAULT_WIDTH / sprite.getWidth(), DEFAULT_HEIGHT / sprite.getHeight());
-
-        if(spriteRotation != 0.0)
-            at.rotate(Math.toRadians(spriteRotation), sprite.getWidth() / 2.0, sprite.getHeight() / 2.0);
-
-        g2d.drawImage(sprite, at, null);
-    }
-
-    public void setHitboxColor(Color color) {
-        this.hitboxColor = color;
+        // Draw the pre-rendered frame of the current rotation
+        sprite.draw(g2d, (int)Math.round(posX), (int)Math.round(posY), rotation);
     }
 
-    public void moveLeft() {
-        // Prevent entity from leaving the game panel
-        if (hitbox.x > 0.0)
-            hitbox.x -= speed;
-    }
+    public double getX() { return players.getX(row); }
 
-    public void moveRight() {
-        // Prevent entity from leaving the game panel
-        if (hitbox.x < panelWidth - hitbox.width)
-            hitbox.x += speed;
-    }
+    public double getY() { return players.getY(row); }
 
-    public void moveUp() {
-        // Prevent entity from leaving the game panel
-        if (hitbox.y > 0.0)
-            hitbox.y -= speed;
-    }
-
-    public void moveDown() {
-        // Prevent entity from leaving the game panel
-        if(hitbox.y < panelHeight - hitbox.height)
-            hitbox.y += speed;
-    }
+    public double getWidth() { return players.getWidth(row); }
 
-    public void handleKeyboardInput(KeyboardInput keyboard) {
-        // Sprite rotation is movement-dependent.
-        // So we reset it to 0.0 und update based on input.
-        spriteRotation = 0.0;
+    public double getHeight() { return players.getHeight(row); }
 
-        if (keyboard.up) moveUp();
-        if (keyboard.down) moveDown();
-
-        if (keyboard.left) {
-            spriteRotation -= ROTATE_DEGREES;
-            moveLeft();
-        }
-        if (keyboard.right) {
-            spriteRotation += ROTATE_DEGREES;
-            moveRight();
-        }
-
-        if (keyboard.sprint) {
-            spriteRotation *= BOOST_ROTATE_FACTOR;
-            setSpeed(Player.BOOST_SPEED);
-        }
-        else
-            setSpeed(Player.DEFAULT_SPEED);
-    }
-
-    public void setX(int posX) {
-        hitbox.x = posX;
-    }
-
-    public void setY(int posY) {
-        hitbox.y = posY;
-    }
+    /**
+     * @return the speed of the Player in pixels per tick
+     */
+    public double getSpeed() { return players.get(Component.SPEED, 0, row); }
 
-    public void setPos(int posX, int posY) {
-        setX(posX);
-        setY(posY);
-    }
+    /**
+     * @return true if the Player touched an Obstacle in the current tick
+     */
+    public boolean isHit() { return players.get(Component.HIT, 0, row) != 0.0; }
 
-    public boolean isHit() { return this.isHit; }
+    /**
+     * @return rotation of the sprite in degrees, depends on the input of the current tick
+     */
+    public double getSpriteRotation() { return players.get(Component.ROTATION, 0, row); }
 
     /**
-     * Checks if the Player collides with any Obstacle in the given List,
-     * blocks Player movement and sets the isHit attribute accordingly.
-     * @param obstacles A List of BaseEntities (e.g. Obstacles)
+     * Interpolates the X coordinate between the previous and the current tick.
+     * @param alpha 0.0 for the previous tick, 1.0 for the current tick
      */
-    public boolean isHitByObstacle(List<Obstacle> obstacles) {
-        this.isHit = false;
-        for(Obstacle obs: obstacles) {
-            while(this.collidesWith(obs)) {
-                if(!this.isHit) this.isHit = true;
-
-                // Get info on which side of the Obstacle the Player is (left, top, right...)
-                int outcode = obs.hitbox.outcode(getX(), getY())
-                        | obs.hitbox.outcode(getX() + hitbox.width, getY() + hitbox.height);
-
-                // Check collisions on Y axis
-                // Skip if outcode suggests BOTH Top & Bottom (possible depending on obstacle height)
-                // IMPORTANT: Vertical clipping through Obstacles might cause endless loops,
-                // so make sure to move the Player at most <OBSTACLE_HEIGHT> pixels per frame.
-                if(((outcode & Rectangle2D.OUT_TOP) != 0) ^ ((outcode & Rectangle2D.OUT_BOTTOM) != 0)) {
-                    if ((outcode & Rectangle2D.OUT_TOP) != 0) {
-                        hitbox.y -= 1; // Push player upward
-                    } else if ((outcode & Rectangle2D.OUT_BOTTOM) != 0) {
-                        hitbox.y += 1; // Push player downward
-                    }
-                    continue; // Recheck collision
-                }
-
-                // Check collisions on X axis
-                if((outcode & Rectangle2D.OUT_LEFT) != 0) {
-                    hitbox.x -= 1; // Push player leftward
-                }
-                else if ((outcode & Rectangle2D.OUT_RIGHT) != 0) {
-                    hitbox.x += 1; // Push player rightward
-                }
-            }
-
-            if(this.isHit) break;
-        }
-        return this.isHit;
+    public double getInterpolatedX(double alpha) {
+        double prevX = players.get(Component.PREVIOUS_POSITION, Component.X, row);
+        return prevX + (getX() - prevX) * alpha;
     }
 
     /**
-     * Checks if the Player collides with any Coin in the given List.
-     * If true, it removes that Coin object from the List.
-     * @param coins List of Coin objects
-     * @return true/false
+     * Interpolates the Y coordinate between the previous and the current tick.
+     * @param alpha 0.0 for the previous tick, 1.0 for the current tick
      */
-    public boolean isHitByCoin(List<Coin> coins) {
-        for(Coin e: coins) {
-            if(this.collidesWith(e)) {
-                coins.remove(e);
-                return true;
-            }
-        }
-        return false;
+    public double getInterpolatedY(double alpha) {
+        double prevY = players.get(Component.PREVIOUS_POSITION, Component.Y, row);
+        return prevY + (getY() - prevY) * alpha;
     }
 }
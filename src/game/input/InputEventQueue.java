@@ -0,0 +1,132 @@
+package game.input;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free ring buffer that carries timestamped input events from the EDT to the game thread.
+ * <p>
+ * All listeners (see {@link KeyboardInput} and {@link MouseInput}) run on the EDT, which is the
+ * only producer, and the game loop is the only consumer. The events are stored in plain arrays,
+ * so pushing and draining doesn't allocate. The producer publishes an event by advancing
+ * {@code tail} after writing the slot, the consumer frees slots by advancing {@code head}
+ * after reading them, so neither side ever waits for the other.
+ * <p>
+ * Every event also carries the complete state of its device after the event. If the queue is
+ * ever full, the event is dropped and counted, but the next accepted event brings the state
+ * up to date again. At a capacity of {@value #DEFAULT_CAPACITY} this doesn't happen in practice,
+ * the game thread drains the queue every tick.
+ */
+public class InputEventQueue {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    public static final int KEY_PRESSED    = 1; // code = InputState flag, state = pressed InputState flags
+    public static final int KEY_RELEASED   = 2;
+    public static final int MOUSE_MOVED    = 3; // code = 0, state = pressed mouse buttons (bit n = button n)
+    public static final int MOUSE_PRESSED  = 4; // code = mouse button
+    public static final int MOUSE_RELEASED = 5;
+    public static final int MOUSE_ENTERED  = 6;
+    public static final int MOUSE_EXITED   = 7;
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int mask;
+    private final int[] types;
+    private final int[] codes;
+    private final int[] states;
+    private final int[] xs;
+    private final int[] ys;
+    private final long[] timestamps;
+
+    private final AtomicLong head = new AtomicLong(); // Next slot to read, only advanced by the consumer
+    private final AtomicLong tail = new AtomicLong(); // Next slot to write, only advanced by the producer
+    private long cachedHead = 0; // Producer's last look at head, saves a volatile read per event
+    private volatile long droppedEvents = 0; // Only written by the producer
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    public InputEventQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of events that haven't been drained yet, rounded up to a power of two
+     */
+    public InputEventQueue(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        mask = size - 1;
+        types = new int[size];
+        codes = new int[size];
+        states = new int[size];
+        xs = new int[size];
+        ys = new int[size];
+        timestamps = new long[size];
+    }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++++ PRODUCER +++++++++++++++++++++++++++*/
+    /**
+     * Appends an event. Must only be called by the producer thread.
+     *
+     * @param type one of the event types defined in this class
+     * @param code the key (as InputState flag) or mouse button of the event
+     * @param state state of the device after the event
+     * @param x cursor X coordinate, 0 for key events
+     * @param y cursor Y coordinate, 0 for key events
+     * @param timestampNanos System.nanoTime() at which the event was received
+     * @return false if the queue was full and the event was dropped
+     */
+    public boolean offer(int type, int code, int state, int x, int y, long timestampNanos) {
+        long t = tail.get();
+        if (t - cachedHead > mask) {
+            cachedHead = head.get();
+            if (t - cachedHead > mask) {
+                droppedEvents = droppedEvents + 1; // Single writer, no need for an atomic increment
+                return false;
+            }
+        }
+        int i = (int) t & mask;
+        types[i] = type;
+        codes[i] = code;
+        states[i] = state;
+        xs[i] = x;
+        ys[i] = y;
+        timestamps[i] = timestampNanos;
+        tail.lazySet(t + 1); // Publishes the slot, the writes above can't be reordered after this
+        return true;
+    }
+
+    /**
+     * @return number of events that were dropped because the queue was full
+     */
+    public long getDroppedEvents() { return droppedEvents; }
+
+    /*++++++++++++++++++++++++++ CONSUMER +++++++++++++++++++++++++++*/
+    /**
+     * Moves all pending events into the given frame, which also updates its input state.
+     * Must only be called by the consumer thread.
+     *
+     * @param frame receives the events, after its events of the previous drain were cleared
+     * @return number of drained events
+     */
+    public int drainTo(InputFrame frame) {
+        frame.clearEvents();
+        long h = head.get();
+        long t = tail.get();
+        for (long n = h; n < t; ++n) {
+            int i = (int) n & mask;
+            frame.add(types[i], codes[i], states[i], xs[i], ys[i], timestamps[i]);
+        }
+        head.lazySet(t); // Hands the slots back to the producer
+        return (int) (t - h);
+    }
+
+    /**
+     * @return number of events that haven't been drained yet (only a hint while the producer is active)
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public int capacity() { return mask + 1; }
+}
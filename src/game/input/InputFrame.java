@@ -0,0 +1,171 @@
+package game.input;
+
+import java.util.Arrays;
+
+/**
+ * The input of one game tick, as drained from an {@link InputEventQueue}: the current state
+ * of keyboard and mouse plus all events that arrived since the previous drain, in the order
+ * they happened and with the System.nanoTime() at which they were received.
+ * <p>
+ * Frames are reused: every drain replaces the events, and the arrays only grow if there
+ * were more events than ever before. Only the consumer thread may use a frame.
+ */
+public class InputFrame {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private static final int DEFAULT_CAPACITY = 32;
+
+    // Events of the last drain
+    private int eventCount = 0;
+    private int[] types = new int[DEFAULT_CAPACITY];
+    private int[] codes = new int[DEFAULT_CAPACITY];
+    private int[] xs = new int[DEFAULT_CAPACITY];
+    private int[] ys = new int[DEFAULT_CAPACITY];
+    private long[] timestamps = new long[DEFAULT_CAPACITY];
+
+    // Current state, i.e. after the last event
+    private int keyBits = 0;
+    private int mouseButtons = 0;
+    private int cursorX, cursorY;
+    private boolean cursorInPanel = false;
+
+    // Keys that went down/up at least once during the last drain
+    private int pressedBits = 0;
+    private int releasedBits = 0;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Writes the keys for the next tick into the given InputState: all keys that are held down
+     * now, plus those that were pressed since the last drain. So a key that was tapped faster
+     * than a tick still moves the Player for one tick.
+     *
+     * @param state the InputState to overwrite
+     * @return the given InputState
+     */
+    public InputState writeTo(InputState state) {
+        state.setBits(keyBits | pressedBits);
+        return state;
+    }
+
+    /**
+     * Forgets the events of the last drain, but keeps the current state.
+     */
+    public void clearEvents() {
+        eventCount = 0;
+        pressedBits = 0;
+        releasedBits = 0;
+    }
+
+    /**
+     * Forgets everything, as if no key or mouse button was ever pressed.
+     */
+    public void reset() {
+        clearEvents();
+        keyBits = 0;
+        mouseButtons = 0;
+        cursorInPanel = false;
+    }
+
+    /**
+     * @return the InputState flags of all keys that are currently held down
+     */
+    public int getKeyBits() { return keyBits; }
+
+    /**
+     * @return true if the key went down at least once since the previous drain
+     */
+    public boolean wasPressed(int flag) { return (pressedBits & flag) != 0; }
+
+    /**
+     * @return true if the key went up at least once since the previous drain
+     */
+    public boolean wasReleased(int flag) { return (releasedBits & flag) != 0; }
+
+    /**
+     * @return pressed mouse buttons, bit n is set if button n is held down
+     */
+    public int getMouseButtons() { return mouseButtons; }
+
+    public int getCursorX() { return cursorX; }
+
+    public int getCursorY() { return cursorY; }
+
+    public boolean isCursorInPanel() { return cursorInPanel; }
+
+    public int getEventCount() { return eventCount; }
+
+    /**
+     * @return type of the i-th event, one of the constants in {@link InputEventQueue}
+     */
+    public int getType(int i) { return types[i]; }
+
+    /**
+     * @return the key (as InputState flag) or mouse button of the i-th event
+     */
+    public int getCode(int i) { return codes[i]; }
+
+    public int getX(int i) { return xs[i]; }
+
+    public int getY(int i) { return ys[i]; }
+
+    /**
+     * @return System.nanoTime() at which the i-th event was received
+     */
+    public long getTimestamp(int i) { return timestamps[i]; }
+
+    /**
+     * @return timestamp of the oldest event of the last drain, or -1 if there were none
+     */
+    public long getOldestTimestamp() { return eventCount > 0 ? timestamps[0] : -1L; }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    /**
+     * Appends an event and applies it to the current state.
+     * Called by {@link InputEventQueue#drainTo(InputFrame)}.
+     */
+    void add(int type, int code, int state, int x, int y, long timestampNanos) {
+        if (eventCount == types.length) grow();
+        types[eventCount] = type;
+        codes[eventCount] = code;
+        xs[eventCount] = x;
+        ys[eventCount] = y;
+        timestamps[eventCount] = timestampNanos;
+        ++eventCount;
+
+        switch (type) {
+            case InputEventQueue.KEY_PRESSED:
+                pressedBits |= code;
+                keyBits = state;
+                break;
+            case InputEventQueue.KEY_RELEASED:
+                releasedBits |= code;
+                keyBits = state;
+                break;
+            case InputEventQueue.MOUSE_ENTERED:
+                cursorInPanel = true;
+                updateMouse(state, x, y);
+                break;
+            case InputEventQueue.MOUSE_EXITED:
+                cursorInPanel = false;
+                updateMouse(state, x, y);
+                break;
+            default:
+                updateMouse(state, x, y);
+        }
+    }
+
+    private void updateMouse(int buttons, int x, int y) {
+        mouseButtons = buttons;
+        cursorX = x;
+        cursorY = y;
+    }
+
+    private void grow() {
+        int capacity = types.length * 2;
+        types = Arrays.copyOf(types, capacity);
+        codes = Arrays.copyOf(codes, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+    }
+}
@@ -0,0 +1,68 @@
+package game.input;
+
+/**
+ * Display-independent input state for a single simulation tick.
+ * The pressed keys are packed into a bitfield, so the state is cheap to copy,
+ * compare and store, and the simulation doesn't need to know about KeyEvents at all.
+ */
+public class InputState {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    public static final int LEFT   = 1;
+    public static final int RIGHT  = 1 << 1;
+    public static final int UP     = 1 << 2;
+    public static final int DOWN   = 1 << 3;
+    public static final int SPRINT = 1 << 4;
+
+    /** Mask of all valid input bits. */
+    public static final int ALL = LEFT | RIGHT | UP | DOWN | SPRINT;
+
+    private int bits;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    public InputState() {
+        this(0);
+    }
+
+    public InputState(int bits) {
+        setBits(bits);
+    }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    public boolean isPressed(int flag) {
+        return (bits & flag) != 0;
+    }
+
+    public void setPressed(int flag, boolean pressed) {
+        if (pressed)
+            bits |= flag;
+        else
+            bits &= ~flag;
+    }
+
+    public boolean left() { return isPressed(LEFT); }
+
+    public boolean right() { return isPressed(RIGHT); }
+
+    public boolean up() { return isPressed(UP); }
+
+    public boolean down() { return isPressed(DOWN); }
+
+    public boolean sprint() { return isPressed(SPRINT); }
+
+    /**
+     * @return all pressed inputs as a bitfield of the flags defined in this class
+     */
+    public int getBits() {
+        return bits;
+    }
+
+    public void setBits(int bits) {
+        this.bits = bits & ALL;
+    }
+
+    public void clear() {
+        bits = 0;
+    }
+}
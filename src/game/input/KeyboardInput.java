@@ -13,17 +13,34 @@ interface KeyBinds {
     int UP		= KeyEvent.VK_W;
     int DOWN	= KeyEvent.VK_S;
     int SPRINT  = KeyEvent.VK_SHIFT;
+
+    int TOGGLE_PROFILER = KeyEvent.VK_F3;
+    int DUMP_PROFILER   = KeyEvent.VK_F4;
 }
 
 /**
- * KeyListener class with public boolean attributes that represent
- * input operations which are modified by pressing and releasing keys.
- * This does not update the game state, because KeyEvents are not
- * in sync with our game loop. Instead, we can read out the booleans
- * within the game loop and call the according update methods from there.
+ * KeyListener that turns pressing and releasing the movement keys into timestamped events.
+ * This does not update the game state, because KeyEvents are not in sync with our
+ * game loop. Instead, the events are pushed into an {@link InputEventQueue}, which the
+ * game loop drains once per tick.
+ * Auto-repeated presses of a key that is already down are ignored.
  */
 public class KeyboardInput implements KeyListener {
-    public boolean left, right, up, down, sprint;
+    private final InputEventQueue events;
+    private int pressedBits = 0; // InputState flags of the keys that are down, only used on the EDT
+
+    // Debug keys. Unlike the movement keys, these are toggled/requested once per key press.
+    public volatile boolean showProfiler = false;
+    public volatile boolean profilerDumpRequested = false;
+    private boolean profilerKeysDown = false; // Ignore auto-repeated presses
+
+    /**
+     * @param events the queue that receives the key events. The listener must only be
+     *               registered on components whose events are dispatched by the same thread (the EDT).
+     */
+    public KeyboardInput(InputEventQueue events) {
+        this.events = events;
+    }
 
     @Override
     public void keyTyped(KeyEvent e) {
@@ -33,22 +50,45 @@ public class KeyboardInput implements KeyListener {
     @Override
     public void keyPressed(KeyEvent e) {
         switch(e.getKeyCode()) {
-            case KeyBinds.LEFT: left	= true; break;
-            case KeyBinds.RIGHT: right	= true; break;
-            case KeyBinds.UP: up		= true; break;
-            case KeyBinds.DOWN: down	= true; break;
-            case KeyBinds.SPRINT: sprint = true; break;
+            case KeyBinds.LEFT: setPressed(InputState.LEFT, true); break;
+            case KeyBinds.RIGHT: setPressed(InputState.RIGHT, true); break;
+            case KeyBinds.UP: setPressed(InputState.UP, true); break;
+            case KeyBinds.DOWN: setPressed(InputState.DOWN, true); break;
+            case KeyBinds.SPRINT: setPressed(InputState.SPRINT, true); break;
+            case KeyBinds.TOGGLE_PROFILER:
+                if (!profilerKeysDown) showProfiler = !showProfiler;
+                profilerKeysDown = true;
+                break;
+            case KeyBinds.DUMP_PROFILER:
+                if (!profilerKeysDown) profilerDumpRequested = true;
+                profilerKeysDown = true;
+                break;
         }
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
         switch(e.getKeyCode()) {
-            case KeyBinds.LEFT: left	= false; break;
-            case KeyBinds.RIGHT: right	= false; break;
-            case KeyBinds.UP: up		= false; break;
-            case KeyBinds.DOWN: down	= false; break;
-            case KeyBinds.SPRINT: sprint = false; break;
+            case KeyBinds.LEFT: setPressed(InputState.LEFT, false); break;
+            case KeyBinds.RIGHT: setPressed(InputState.RIGHT, false); break;
+            case KeyBinds.UP: setPressed(InputState.UP, false); break;
+            case KeyBinds.DOWN: setPressed(InputState.DOWN, false); break;
+            case KeyBinds.SPRINT: setPressed(InputState.SPRINT, false); break;
+            case KeyBinds.TOGGLE_PROFILER:
+            case KeyBinds.DUMP_PROFILER: profilerKeysDown = false; break;
         }
     }
+
+    /**
+     * Pushes an event if the key changed its state.
+     *
+     * @param flag the InputState flag of the key
+     * @param pressed true if the key went down
+     */
+    private void setPressed(int flag, boolean pressed) {
+        if (((pressedBits & flag) != 0) == pressed) return; // Auto-repeat
+        pressedBits = pressed ? pressedBits | flag : pressedBits & ~flag;
+        events.offer(pressed ? InputEventQueue.KEY_PRESSED : InputEventQueue.KEY_RELEASED,
+                flag, pressedBits, 0, 0, System.nanoTime());
+    }
 }
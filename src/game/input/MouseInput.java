@@ -3,9 +3,21 @@ package game.input;
 import javax.swing.event.MouseInputListener;
 import java.awt.event.MouseEvent;
 
+/**
+ * MouseInputListener that pushes cursor movement and button changes as timestamped
+ * events into an {@link InputEventQueue}, just like {@link KeyboardInput} does for keys.
+ * The game loop gets the cursor position & pressed buttons from the drained {@link InputFrame}.
+ */
 public class MouseInput implements MouseInputListener {
-    public int cursorPosX, cursorPosY;
-    public boolean isInPanel = false;
+    private final InputEventQueue events;
+    private int buttons = 0; // Bit n is set while button n is down, only used on the EDT
+
+    /**
+     * @param events the queue that receives the mouse events, shared with the KeyboardInput (the EDT is the only producer)
+     */
+    public MouseInput(InputEventQueue events) {
+        this.events = events;
+    }
 
     @Override
     public void mouseClicked(MouseEvent e) {
@@ -14,36 +26,42 @@ public class MouseInput implements MouseInputListener {
 
     @Override
     public void mousePressed(MouseEvent e) {
-
+        buttons |= buttonBit(e);
+        push(InputEventQueue.MOUSE_PRESSED, e.getButton(), e);
     }
 
     @Override
     public void mouseReleased(MouseEvent e) {
-
+        buttons &= ~buttonBit(e);
+        push(InputEventQueue.MOUSE_RELEASED, e.getButton(), e);
     }
 
     @Override
     public void mouseEntered(MouseEvent e) {
-        isInPanel = true;
+        push(InputEventQueue.MOUSE_ENTERED, 0, e);
     }
 
     @Override
     public void mouseExited(MouseEvent e) {
-        isInPanel = false;
+        push(InputEventQueue.MOUSE_EXITED, 0, e);
     }
 
     @Override
     public void mouseDragged(MouseEvent e) {
-        updateCursorPos(e);
+        push(InputEventQueue.MOUSE_MOVED, 0, e);
     }
 
     @Override
     public void mouseMoved(MouseEvent e) {
-        updateCursorPos(e);
+        push(InputEventQueue.MOUSE_MOVED, 0, e);
+    }
+
+    private void push(int type, int code, MouseEvent e) {
+        events.offer(type, code, buttons, e.getX(), e.getY(), System.nanoTime());
     }
 
-    private void updateCursorPos(MouseEvent e) {
-        cursorPosX = e.getX();
-        cursorPosY = e.getY();
+    private static int buttonBit(MouseEvent e) {
+        int button = e.getButton();
+        return button > 0 && button < 32 ? 1 << button : 0;
     }
 }
@@ -0,0 +1,43 @@
+package game.loop;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Waits until a given System.nanoTime() deadline with sub-millisecond precision.
+ * Most of the wait is spent parked, which is cheap but may oversleep a bit depending
+ * on the OS scheduler. The last part before the deadline is spent spinning instead.
+ */
+public class FramePacer {
+    /** Default time before the deadline at which we stop parking and start spinning. */
+    public static final long DEFAULT_SPIN_THRESHOLD_NANOS = 1_000_000L;
+
+    private final long spinThresholdNanos;
+
+    public FramePacer() {
+        this(DEFAULT_SPIN_THRESHOLD_NANOS);
+    }
+
+    /**
+     * @param spinThresholdNanos remaining time in nanoseconds below which the pacer busy-waits
+     */
+    public FramePacer(long spinThresholdNanos) {
+        this.spinThresholdNanos = spinThresholdNanos;
+    }
+
+    /**
+     * Blocks the calling thread until System.nanoTime() reaches the deadline.
+     * Returns immediately if the deadline has already passed.
+     *
+     * @param deadlineNanos the point in time to wait for, as returned by System.nanoTime()
+     */
+    public void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > spinThresholdNanos) {
+            LockSupport.parkNanos(remaining - spinThresholdNanos);
+        }
+        // Spin-wait tail: parkNanos() is too coarse for the last few hundred microseconds
+        while (deadlineNanos - System.nanoTime() > 0) {
+            Thread.yield();
+        }
+    }
+}
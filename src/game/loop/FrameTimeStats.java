@@ -0,0 +1,104 @@
+package game.loop;
+
+import java.util.Arrays;
+
+/**
+ * Collects frame times over a sliding window of the most recent frames and
+ * computes percentiles, so frame pacing jitter can be checked against a budget.
+ * Recording a sample never allocates.
+ */
+public class FrameTimeStats {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final long budgetNanos;
+    private final long[] samples;
+    private final long[] sorted; // Scratch array for percentile calculation
+    private int count = 0;
+    private int next = 0;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /**
+     * @param windowSize number of most recent frames to keep
+     * @param budgetNanos the desired frame time in nanoseconds
+     */
+    public FrameTimeStats(int windowSize, long budgetNanos) {
+        this.samples = new long[windowSize];
+        this.sorted = new long[windowSize];
+        this.budgetNanos = budgetNanos;
+    }
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    public void record(long frameNanos) {
+        samples[next] = frameNanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) ++count;
+    }
+
+    public void clear() {
+        count = 0;
+        next = 0;
+    }
+
+    public int getCount() { return count; }
+
+    public long getBudgetNanos() { return budgetNanos; }
+
+    /**
+     * Returns the frame time below which the given fraction of recorded frames lie.
+     *
+     * @param p percentile in [0.0, 1.0], e.g. 0.99
+     * @return the frame time in nanoseconds, or 0 if nothing has been recorded
+     */
+    public long percentile(double p) {
+        if (count == 0) return 0;
+        System.arraycopy(samples, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        int index = (int) Math.ceil(p * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+
+    public long max() {
+        long max = 0;
+        for (int i = 0; i < count; ++i) max = Math.max(max, samples[i]);
+        return max;
+    }
+
+    public double mean() {
+        if (count == 0) return 0;
+        double sum = 0;
+        for (int i = 0; i < count; ++i) sum += samples[i];
+        return sum / count;
+    }
+
+    /**
+     * Jitter as the standard deviation of the frame times, in nanoseconds.
+     */
+    public double jitter() {
+        if (count == 0) return 0;
+        double mean = mean();
+        double sq = 0;
+        for (int i = 0; i < count; ++i) {
+            double d = samples[i] - mean;
+            sq += d * d;
+        }
+        return Math.sqrt(sq / count);
+    }
+
+    /**
+     * @return number of recorded frames that took longer than the budget
+     */
+    public int overBudget() {
+        int n = 0;
+        for (int i = 0; i < count; ++i) if (samples[i] > budgetNanos) ++n;
+        return n;
+    }
+
+    /**
+     * @return a one-line human-readable summary, e.g. for console logging
+     */
+    public String summary() {
+        long p99 = percentile(0.99);
+        return String.format("frames=%d mean=%.2fms p50=%.2fms p99=%.2fms max=%.2fms jitter=%.3fms over budget=%d (p99 %s %.2fms budget)",
+                count, mean() / 1e6, percentile(0.5) / 1e6, p99 / 1e6, max() / 1e6, jitter() / 1e6,
+                overBudget(), p99 <= budgetNanos ? "within" : "EXCEEDS", budgetNanos / 1e6);
+    }
+}
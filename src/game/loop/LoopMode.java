@@ -0,0 +1,32 @@
+package game.loop;
+
+/**
+ * The available implementations of the game loop.
+ */
+public enum LoopMode {
+    /**
+     * One simulation tick per rendered frame, paced with Thread.sleep().
+     * Simulation speed depends on the achieved frame rate.
+     */
+    VARIABLE,
+
+    /**
+     * Simulation ticks at a fixed rate, driven by System.nanoTime().
+     * Rendering interpolates between the last two ticks, so simulation speed
+     * does not depend on how long painting takes.
+     */
+    FIXED_TIMESTEP;
+
+    /**
+     * Parses a loop mode from a config string like "fixed" or "variable".
+     * Unknown values fall back to VARIABLE.
+     */
+    public static LoopMode fromString(String value) {
+        if (value != null) {
+            String v = value.trim().toLowerCase();
+            if (v.equals("fixed") || v.equals("fixed_timestep"))
+                return FIXED_TIMESTEP;
+        }
+        return VARIABLE;
+    }
+}
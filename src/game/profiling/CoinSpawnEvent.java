@@ -0,0 +1,40 @@
+package game.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a batch of Coins spawned by the {@code CoinFactory}.
+ */
+@Name("java2dgame.CoinSpawn")
+@Label("Coin Spawn")
+@Category({"Java2DGame", "Spawning"})
+@Description("A batch of Coins was placed in the area above the next Obstacle row")
+public class CoinSpawnEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(CoinSpawnEvent.class);
+
+    /**
+     * @return true if a recording wants this event, see {@link TickEvent#isRecorded()}
+     */
+    public static boolean isRecorded() {
+        return TYPE.isEnabled();
+    }
+
+    @Label("Coins")
+    @Description("Coins actually placed")
+    public int coins;
+
+    @Label("Requested Coins")
+    @Description("Coins that should have been placed, the rest didn't fit into the area")
+    public int requestedCoins;
+
+    @Label("Retries")
+    @Description("Random positions that were rejected because they overlapped a Coin placed before")
+    public int retries;
+
+    @Label("Area Height")
+    public int areaHeight;
+}
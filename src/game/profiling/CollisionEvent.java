@@ -0,0 +1,40 @@
+package game.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a collision of the Player with an Obstacle and its resolution.
+ * Only committed if the Player was actually hit.
+ */
+@Name("java2dgame.Collision")
+@Label("Obstacle Collision")
+@Category({"Java2DGame", "Collision"})
+@Description("The Player hit one or more Obstacles and was pushed out of them")
+public class CollisionEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(CollisionEvent.class);
+
+    /**
+     * @return true if a recording wants this event, see {@link TickEvent#isRecorded()}
+     */
+    public static boolean isRecorded() {
+        return TYPE.isEnabled();
+    }
+
+    @Label("Candidates")
+    @Description("Entities in the Player's band that were tested")
+    public int candidates;
+
+    @Label("Contacts")
+    @Description("Number of Obstacles the Player overlapped and was pushed out of, one step each")
+    public int contacts;
+
+    @Label("Player X")
+    public double playerX;
+
+    @Label("Player Y")
+    public double playerY;
+}
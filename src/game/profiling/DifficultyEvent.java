@@ -0,0 +1,34 @@
+package game.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a change of the game difficulty derived from the score.
+ */
+@Name("java2dgame.Difficulty")
+@Label("Difficulty Change")
+@Category({"Java2DGame", "Game Loop"})
+@Description("The game difficulty changed because the score changed")
+public class DifficultyEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(DifficultyEvent.class);
+
+    /**
+     * @return true if a recording wants this event, see {@link TickEvent#isRecorded()}
+     */
+    public static boolean isRecorded() {
+        return TYPE.isEnabled();
+    }
+
+    @Label("Score")
+    public double score;
+
+    @Label("Old Difficulty")
+    public double oldDifficulty;
+
+    @Label("New Difficulty")
+    public double newDifficulty;
+}
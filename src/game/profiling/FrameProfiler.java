@@ -0,0 +1,116 @@
+package game.profiling;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Collects how long each {@link Phase} of the game loop takes, plus the time between
+ * frames. Every phase gets its own {@link PhaseHistogram} that covers everything since
+ * the last reset, and the most recent frame times are kept in a ring for a frame graph.
+ * Recording never allocates.
+ * <p>
+ * The profiler is meant to be written by the game thread. Readers on other threads
+ * (e.g. an overlay painted on the EDT) may see slightly inconsistent numbers while
+ * it is being written, which is good enough for displaying them.
+ */
+public class FrameProfiler {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private static final Phase[] PHASES = Phase.values();
+
+    private final PhaseHistogram[] phaseHistograms = new PhaseHistogram[PHASES.length];
+    private final PhaseHistogram frameHistogram = new PhaseHistogram();
+
+    // Ring of the most recent frame times, for the frame graph
+    private final long[] recentFrames;
+    private int nextFrame = 0;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    /**
+     * @param graphLength number of most recent frame times to keep for the frame graph
+     */
+    public FrameProfiler(int graphLength) {
+        for (int i = 0; i < phaseHistograms.length; ++i) phaseHistograms[i] = new PhaseHistogram();
+        recentFrames = new long[graphLength];
+    }
+
+    /**
+     * Creates a copy of another profiler, e.g. to write it to disk while the original keeps recording.
+     */
+    public FrameProfiler(FrameProfiler other) {
+        this(other.recentFrames.length);
+        for (int i = 0; i < phaseHistograms.length; ++i) phaseHistograms[i].copyFrom(other.phaseHistograms[i]);
+        frameHistogram.copyFrom(other.frameHistogram);
+        System.arraycopy(other.recentFrames, 0, recentFrames, 0, recentFrames.length);
+        nextFrame = other.nextFrame;
+    }
+
+    public void reset() {
+        for (PhaseHistogram histogram : phaseHistograms) histogram.reset();
+        frameHistogram.reset();
+        java.util.Arrays.fill(recentFrames, 0L);
+        nextFrame = 0;
+    }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    public void record(Phase phase, long nanos) {
+        phaseHistograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records the time between the starts of two frames.
+     */
+    public void recordFrame(long frameNanos) {
+        frameHistogram.record(frameNanos);
+        recentFrames[nextFrame] = frameNanos;
+        nextFrame = (nextFrame + 1) % recentFrames.length;
+    }
+
+    public PhaseHistogram getHistogram(Phase phase) {
+        return phaseHistograms[phase.ordinal()];
+    }
+
+    public PhaseHistogram getFrameHistogram() {
+        return frameHistogram;
+    }
+
+    public int getGraphLength() {
+        return recentFrames.length;
+    }
+
+    /**
+     * @param age 0 for the latest frame, 1 for the one before, ...
+     * @return the frame time in nanoseconds, or 0 if there was no such frame yet
+     */
+    public long getRecentFrame(int age) {
+        int index = nextFrame - 1 - age;
+        if (index < 0) index += recentFrames.length;
+        return recentFrames[index];
+    }
+
+    /**
+     * Writes all non-empty buckets of all histograms as CSV. The cumulative fraction
+     * of a bucket is the percentile its upper bound corresponds to.
+     */
+    public void writeCsv(Writer out) throws IOException {
+        out.write("phase,bucket_lower_ns,bucket_upper_ns,count,cumulative_fraction\n");
+        for (Phase phase : PHASES) writeCsvRows(out, phase.getLabel(), getHistogram(phase));
+        writeCsvRows(out, "frame", frameHistogram);
+        out.flush();
+    }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    private static void writeCsvRows(Writer out, String name, PhaseHistogram histogram) throws IOException {
+        long total = histogram.getCount();
+        long seen = 0;
+        for (int i = 0; i < histogram.getNumberOfBuckets(); ++i) {
+            long n = histogram.getCountInBucket(i);
+            if (n == 0) continue;
+            seen += n;
+            out.write(String.format(Locale.ROOT, "%s,%d,%d,%d,%.6f\n", name,
+                    PhaseHistogram.bucketLowerBound(i), PhaseHistogram.bucketUpperBound(i), n, seen / (double) total));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package game.profiling;
+
+/**
+ * Measures the time from a key event until the first finished frame that shows its result.
+ * <p>
+ * The game thread calls {@link #inputApplied(long)} for every key event that went into a tick,
+ * with the System.nanoTime() at which the event was received. The number of applied events
+ * travels with the frame (see {@link game.world.RenderSnapshot#getAppliedInputs()}), and when
+ * that frame is finished, the presenting thread calls {@link #frameShown(long, long)}, which
+ * records the latency of every event that wasn't shown in an earlier frame.
+ * <p>
+ * The timestamps are kept in a ring buffer, so one thread may apply inputs while another one
+ * presents frames, as long as the snapshot of the frame was published after the inputs were
+ * applied. Events that are more than {@value #MAX_UNSHOWN} events older than the shown frame
+ * are skipped, their slots might already have been reused.
+ */
+public class InputLatencyTracker {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private static final int RING_SIZE = 256;
+    private static final int MAX_UNSHOWN = RING_SIZE / 2;
+
+    private final long[] eventNanos = new long[RING_SIZE]; // Written by the game thread
+    private long appliedInputs = 0; // Only used by the game thread
+    private long shownInputs = 0; // Only used by the presenting thread
+
+    private final PhaseHistogram latencies = new PhaseHistogram(); // Written by the presenting thread
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Called by the game thread for every input event that was consumed by a tick.
+     *
+     * @param timestampNanos System.nanoTime() at which the event was received
+     * @return the number of applied events so far, to be stored with the next frame
+     */
+    public long inputApplied(long timestampNanos) {
+        eventNanos[(int) (appliedInputs & (RING_SIZE - 1))] = timestampNanos;
+        return ++appliedInputs;
+    }
+
+    /**
+     * @return the number of applied events so far. Only for the game thread.
+     */
+    public long getAppliedInputs() { return appliedInputs; }
+
+    /**
+     * Called by the presenting thread when a frame is finished, i.e. after paintComponent()
+     * or after the buffer flip.
+     *
+     * @param frameInputs number of applied events when the frame's snapshot was captured
+     * @param nowNanos System.nanoTime() at which the frame was finished
+     */
+    public void frameShown(long frameInputs, long nowNanos) {
+        if (frameInputs <= shownInputs) return; // Nothing new, or the frame was painted again
+        for (long i = Math.max(shownInputs, frameInputs - MAX_UNSHOWN); i < frameInputs; ++i) {
+            latencies.record(nowNanos - eventNanos[(int) (i & (RING_SIZE - 1))]);
+        }
+        shownInputs = frameInputs;
+    }
+
+    /**
+     * Forgets all recorded latencies, e.g. for a new measurement. Only for the presenting thread.
+     */
+    public void resetLatencies() {
+        latencies.reset();
+    }
+
+    /**
+     * @return the input-to-display latencies in nanoseconds (may be recorded to while being read)
+     */
+    public PhaseHistogram getLatencies() { return latencies; }
+
+    /**
+     * @return a one-line human-readable summary, e.g. for console logging
+     */
+    public String summary() {
+        return String.format("inputs=%d mean=%.2fms p50=%.2fms p99=%.2fms max=%.2fms",
+                latencies.getCount(), latencies.getMean() / 1e6, latencies.percentile(0.5) / 1e6,
+                latencies.percentile(0.99) / 1e6, latencies.getMax() / 1e6);
+    }
+}
@@ -0,0 +1,31 @@
+package game.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a row of Obstacles spawned by the {@code ObstacleRowFactory}.
+ */
+@Name("java2dgame.ObstacleRow")
+@Label("Obstacle Row")
+@Category({"Java2DGame", "Spawning"})
+@Description("A row of Obstacles was created")
+public class ObstacleRowEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(ObstacleRowEvent.class);
+
+    /**
+     * @return true if a recording wants this event, see {@link TickEvent#isRecorded()}
+     */
+    public static boolean isRecorded() {
+        return TYPE.isEnabled();
+    }
+
+    @Label("Obstacles")
+    public int obstacles;
+
+    @Label("Obstacle Probability")
+    public float obstacleProbability;
+}
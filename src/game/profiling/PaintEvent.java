@@ -0,0 +1,36 @@
+package game.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for rendering one frame, from the game thread in the active render modes
+ * or from the EDT in the passive mode.
+ */
+@Name("java2dgame.Paint")
+@Label("Paint")
+@Category({"Java2DGame", "Game Loop"})
+@Description("Rendering of one frame")
+public class PaintEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(PaintEvent.class);
+
+    /**
+     * @return true if a recording wants this event, see {@link TickEvent#isRecorded()}
+     */
+    public static boolean isRecorded() {
+        return TYPE.isEnabled();
+    }
+
+    @Label("Render Mode")
+    public String renderMode;
+
+    @Label("Entity Count")
+    public int entityCount;
+
+    @Label("Render Scale")
+    @Description("Scale the world was rendered at, below 1.0 if dynamic resolution lowered it")
+    public double renderScale;
+}
@@ -0,0 +1,25 @@
+package game.profiling;
+
+/**
+ * The parts of the game loop that are timed separately by the {@link FrameProfiler}.
+ * The simulation phases are recorded once per tick, PAINT and SLEEP once per frame.
+ */
+public enum Phase {
+    INPUT("input"),
+    COLLISION("collision"),
+    MOVEMENT("movement"),
+    SPAWN("spawn"),
+    CLEANUP("cleanup"),
+    PAINT("paint"),
+    SLEEP("sleep");
+
+    private final String label;
+
+    Phase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
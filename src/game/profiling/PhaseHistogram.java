@@ -0,0 +1,102 @@
+package game.profiling;
+
+/**
+ * Histogram of durations in nanoseconds with a fixed number of buckets.
+ * <p>
+ * Bucket widths grow with the value: every power of two is split into
+ * {@value #SUB_BUCKETS} buckets of equal width, so each value is stored with
+ * a relative error of at most ~3%, from single nanoseconds up to about two
+ * minutes. Larger values end up in the last bucket. Recording a value is just
+ * a few bit operations and never allocates, so it's cheap enough for every tick.
+ */
+public class PhaseHistogram {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_VALUE_BIT = 36; // Values up to 2^37 - 1 ns (~137 s)
+    private static final long MAX_VALUE = (1L << (MAX_VALUE_BIT + 1)) - 1;
+    private static final int BUCKET_COUNT = (MAX_VALUE_BIT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private long sum;
+    private long max;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    public void record(long nanos) {
+        long value = Math.max(0L, Math.min(nanos, MAX_VALUE));
+        ++counts[bucketOf(value)];
+        ++count;
+        sum += value;
+        if (value > max) max = value;
+    }
+
+    public void reset() {
+        java.util.Arrays.fill(counts, 0L);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    /**
+     * Overwrites this histogram with the contents of another one.
+     */
+    public void copyFrom(PhaseHistogram other) {
+        System.arraycopy(other.counts, 0, counts, 0, BUCKET_COUNT);
+        count = other.count;
+        sum = other.sum;
+        max = other.max;
+    }
+
+    public long getCount() { return count; }
+
+    public long getMax() { return max; }
+
+    public double getMean() { return count > 0 ? sum / (double) count : 0.0; }
+
+    /**
+     * Returns the value below which the given fraction of recorded values lie,
+     * rounded up to the end of its bucket (but never above the maximum).
+     *
+     * @param p percentile in [0.0, 1.0], e.g. 0.99
+     * @return the value in nanoseconds, or 0 if nothing has been recorded
+     */
+    public long percentile(double p) {
+        if (count == 0) return 0;
+        long target = Math.max(1L, (long) Math.ceil(p * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            seen += counts[i];
+            if (seen >= target) return Math.min(bucketUpperBound(i), max);
+        }
+        return max; // Only if another thread recorded while we were counting
+    }
+
+    public int getNumberOfBuckets() { return BUCKET_COUNT; }
+
+    public long getCountInBucket(int bucket) { return counts[bucket]; }
+
+    /**
+     * @return the smallest value that is stored in the given bucket
+     */
+    public static long bucketLowerBound(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        return (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    /**
+     * @return the largest value that is stored in the given bucket
+     */
+    public static long bucketUpperBound(int bucket) {
+        return bucket + 1 < BUCKET_COUNT ? bucketLowerBound(bucket + 1) - 1 : MAX_VALUE;
+    }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    private static int bucketOf(long value) {
+        if (value < 2 * SUB_BUCKETS) return (int) value;
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+}
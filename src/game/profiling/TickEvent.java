@@ -0,0 +1,43 @@
+package game.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one simulation tick, its duration is the time spent in {@code GameWorld.step()}.
+ * <p>
+ * The game's events only cost something while a recording is running, e.g. with
+ * {@code java -XX:StartFlightRecording=duration=60s,filename=game.jfr Main}
+ * (needs JDK 8u262 or newer).
+ */
+@Name("java2dgame.Tick")
+@Label("Tick")
+@Category({"Java2DGame", "Game Loop"})
+@Description("One simulation tick of the game world")
+public class TickEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(TickEvent.class);
+
+    /**
+     * @return true if a recording wants this event. Otherwise there's no need to create one,
+     * which matters in the simulation, where every allocation counts.
+     */
+    public static boolean isRecorded() {
+        return TYPE.isEnabled();
+    }
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Score")
+    public int score;
+
+    @Label("Entity Count")
+    @Description("Number of scrolling entities (Obstacles & Coins) after the tick")
+    public int entityCount;
+
+    @Label("Game Over")
+    public boolean gameOver;
+}
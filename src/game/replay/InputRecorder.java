@@ -0,0 +1,74 @@
+package game.replay;
+
+import java.util.Arrays;
+
+import game.input.InputState;
+
+/**
+ * Records the input of every simulation tick of a game as run-length encoded bitfields.
+ * Consecutive ticks with the same input only extend the current run, and the run
+ * arrays grow by doubling, so recording a tick usually doesn't allocate anything.
+ */
+public class InputRecorder {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private int width;
+    private int height;
+    private long seed;
+    private boolean recording = false;
+
+    private byte[] runBits = new byte[256];
+    private int[] runLengths = new int[256];
+    private int runCount = 0;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Starts a new recording and discards the current one, if any.
+     *
+     * @param seed the seed the world was reset with, see GameWorld.reset(long)
+     */
+    public void start(int width, int height, long seed) {
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+        runCount = 0;
+        recording = true;
+    }
+
+    /**
+     * Records the input of one tick. Does nothing if no recording was started.
+     */
+    public void record(InputState input) {
+        if (!recording) return;
+        byte bits = (byte) input.getBits();
+        if (runCount > 0 && runBits[runCount - 1] == bits && runLengths[runCount - 1] < Integer.MAX_VALUE) {
+            ++runLengths[runCount - 1];
+            return;
+        }
+
+        if (runCount == runBits.length) {
+            runBits = Arrays.copyOf(runBits, runCount * 2);
+            runLengths = Arrays.copyOf(runLengths, runCount * 2);
+        }
+        runBits[runCount] = bits;
+        runLengths[runCount] = 1;
+        ++runCount;
+    }
+
+    /**
+     * Stops the recording.
+     *
+     * @param finalScore the score at the end of the game, which a replay has to reproduce
+     * @return the finished recording, or null if no recording was started
+     */
+    public InputRecording finish(int finalScore) {
+        if (!recording) return null;
+        recording = false;
+        return new InputRecording(width, height, seed, finalScore,
+                Arrays.copyOf(runBits, runCount), Arrays.copyOf(runLengths, runCount));
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+}
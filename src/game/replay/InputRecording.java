@@ -0,0 +1,168 @@
+package game.replay;
+
+import java.io.*;
+
+import game.input.InputState;
+
+/**
+ * A recorded game: the world size and seed, the per-tick input as run-length encoded
+ * {@link InputState} bitfields, and the final score that a replay has to reproduce.
+ * <p>
+ * File format (big-endian, see DataOutputStream):
+ * <pre>
+ *   int   magic "J2DR"
+ *   byte  version
+ *   int   world width, int world height
+ *   long  seed (see GameWorld.reset(long))
+ *   long  number of ticks
+ *   int   final score
+ *   int   number of runs
+ *   runs: byte input bits, varint run length (unsigned LEB128)
+ * </pre>
+ * A typical game of a few minutes fits into a few hundred bytes.
+ */
+public class InputRecording {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    public static final String FILE_EXTENSION = ".j2dr";
+
+    private static final int MAGIC = 0x4A324452; // "J2DR"
+    // Version 2: every spawn is seeded on its own (see game.spawn.SpawnGenerator), so the
+    // same seed leads to different games than in version 1
+    private static final byte VERSION = 2;
+
+    private final int width;
+    private final int height;
+    private final long seed;
+    private final long ticks;
+    private final int finalScore;
+    private final byte[] runBits;
+    private final int[] runLengths;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    InputRecording(int width, int height, long seed, int finalScore, byte[] runBits, int[] runLengths) {
+        if (runBits.length != runLengths.length)
+            throw new IllegalArgumentException("Every run needs bits and a length");
+
+        long ticks = 0;
+        for (int length : runLengths) {
+            if (length <= 0) throw new IllegalArgumentException("Run lengths must be positive: " + length);
+            ticks += length;
+        }
+
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+        this.ticks = ticks;
+        this.finalScore = finalScore;
+        this.runBits = runBits;
+        this.runLengths = runLengths;
+    }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeInt(width);
+        data.writeInt(height);
+        data.writeLong(seed);
+        data.writeLong(ticks);
+        data.writeInt(finalScore);
+        data.writeInt(runBits.length);
+        for (int i = 0; i < runBits.length; ++i) {
+            data.writeByte(runBits[i]);
+            writeVarInt(data, runLengths[i]);
+        }
+        data.flush();
+    }
+
+    public static InputRecording read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) throw new IOException("Not an input recording");
+        byte version = data.readByte();
+        if (version != VERSION) throw new IOException("Unsupported recording version " + version);
+
+        int width = data.readInt();
+        int height = data.readInt();
+        long seed = data.readLong();
+        long ticks = data.readLong();
+        int finalScore = data.readInt();
+        int runCount = data.readInt();
+        if (runCount < 0) throw new IOException("Corrupt recording: " + runCount + " runs");
+
+        byte[] runBits = new byte[runCount];
+        int[] runLengths = new int[runCount];
+        for (int i = 0; i < runCount; ++i) {
+            runBits[i] = data.readByte();
+            runLengths[i] = readVarInt(data);
+        }
+
+        InputRecording recording;
+        try {
+            recording = new InputRecording(width, height, seed, finalScore, runBits, runLengths);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt recording: " + e.getMessage());
+        }
+        if (recording.ticks != ticks)
+            throw new IOException("Corrupt recording: " + recording.ticks + " ticks in runs, " + ticks + " in header");
+        return recording;
+    }
+
+    public static InputRecording read(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    public void write(File file) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            write(out);
+        }
+    }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    public long getSeed() { return seed; }
+
+    /**
+     * @return the number of recorded ticks, including the tick that ended the game
+     */
+    public long getTicks() { return ticks; }
+
+    public int getFinalScore() { return finalScore; }
+
+    public int getRunCount() { return runBits.length; }
+
+    /**
+     * @return the InputState bits of the given run
+     */
+    public int getRunBits(int run) { return runBits[run]; }
+
+    /**
+     * @return the number of ticks the given run lasts
+     */
+    public int getRunLength(int run) { return runLengths[run]; }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    private static void writeVarInt(DataOutputStream data, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            data.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream data) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = data.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Corrupt recording: varint too long");
+    }
+}
@@ -0,0 +1,111 @@
+package game.replay;
+
+import java.io.File;
+import java.io.IOException;
+
+import game.input.InputState;
+import game.world.GameWorld;
+
+/**
+ * Replays recorded games without any display and without throttling, and checks that
+ * each replay ends after the recorded number of ticks with exactly the recorded score.
+ * Exits with status 1 if any replay diverges, so it can be used as a determinism check.
+ * <p>
+ * Usage: {@code java -Djava.awt.headless=true game.replay.ReplayRunner [-repeat N] <file or directory>...}
+ */
+public class ReplayRunner {
+
+    /**
+     * Outcome of a single replay.
+     */
+    public static class Result {
+        public final long ticks;
+        public final int score;
+        public final boolean gameOver;
+
+        Result(long ticks, int score, boolean gameOver) {
+            this.ticks = ticks;
+            this.score = score;
+            this.gameOver = gameOver;
+        }
+
+        /**
+         * @return true if the replay ended exactly like the recorded game
+         */
+        public boolean matches(InputRecording recording) {
+            return gameOver && ticks == recording.getTicks() && score == recording.getFinalScore();
+        }
+    }
+
+    /**
+     * Replays a recording as fast as possible. Stops early if the game ends before
+     * all recorded ticks are used up.
+     */
+    public static Result replay(InputRecording recording) {
+        GameWorld world = new GameWorld(recording.getWidth(), recording.getHeight(), recording.getSeed());
+        InputState input = new InputState();
+
+        long ticks = 0;
+        boolean running = true;
+        for (int run = 0; run < recording.getRunCount() && running; ++run) {
+            input.setBits(recording.getRunBits(run));
+            for (int i = recording.getRunLength(run); i > 0 && running; --i) {
+                running = world.step(input);
+                ++ticks;
+            }
+        }
+        return new Result(ticks, world.getScore(), world.isGameOver());
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int repeat = 1;
+        int failures = 0;
+        for (int a = 0; a < args.length; ++a) {
+            if (args[a].equals("-repeat") && a + 1 < args.length) {
+                repeat = Math.max(1, Integer.parseInt(args[++a]));
+                continue;
+            }
+
+            File file = new File(args[a]);
+            File[] files = file.isDirectory()
+                    ? file.listFiles((dir, name) -> name.endsWith(InputRecording.FILE_EXTENSION))
+                    : new File[] { file };
+            if (files == null) continue;
+            java.util.Arrays.sort(files);
+
+            for (File f : files) {
+                if (!replayFile(f, repeat)) ++failures;
+            }
+        }
+
+        if (failures > 0) {
+            System.out.println(failures + " replay(s) diverged from the recording");
+            System.exit(1);
+        }
+    }
+
+    private static boolean replayFile(File file, int repeat) {
+        InputRecording recording;
+        try {
+            recording = InputRecording.read(file);
+        } catch (IOException e) {
+            System.out.println("FAIL " + file.getName() + ": " + e.getMessage());
+            return false;
+        }
+
+        Result result = null;
+        long start = System.nanoTime();
+        for (int r = 0; r < repeat; ++r) {
+            result = replay(recording);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        boolean ok = result.matches(recording);
+        System.out.printf("%s %s: %d/%d ticks, score %d/%d (%.0f ticks/s)%n",
+                ok ? "OK  " : "FAIL", file.getName(), result.ticks, recording.getTicks(),
+                result.score, recording.getFinalScore(), result.ticks * repeat / seconds);
+        return ok;
+    }
+}
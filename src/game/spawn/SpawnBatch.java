@@ -0,0 +1,80 @@
+package game.spawn;
+
+import game.ecs.Archetype;
+import game.entities.Coin;
+import game.entities.Obstacle;
+
+/**
+ * The entities of one spawn: an Obstacle row and the Coins above it, at their spawn positions
+ * above the panel. A batch also remembers what it was generated for (see {@link SpawnGenerator}),
+ * so a prefetched batch can be checked against the spawn it's used for.
+ * <p>
+ * Batches are reused, the game thread copies the entities into the world and hands the batch
+ * back to whoever generated it.
+ */
+public class SpawnBatch {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    final Archetype obstacles = Obstacle.newArchetype();
+    final Archetype coins = Coin.newArchetype();
+
+    final SpawnPrefetcher owner; // null if the batch is generated on the game thread
+    int requestedCoins; // May be more than the Coins in the batch, if they didn't fit into their area
+
+    // What the content was generated for
+    int epoch;
+    long index;
+    long params;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    SpawnBatch(SpawnPrefetcher owner) {
+        this.owner = owner;
+    }
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Adds the Obstacles of this batch to the given archetype, in the order they were generated.
+     */
+    public void copyObstaclesTo(Archetype target) {
+        copy(obstacles, target);
+    }
+
+    /**
+     * Adds the Coins of this batch to the given archetype, in the order they were generated.
+     */
+    public void copyCoinsTo(Archetype target) {
+        copy(coins, target);
+    }
+
+    boolean matches(int epoch, long index, long params) {
+        return this.epoch == epoch && this.index == index && this.params == params;
+    }
+
+    /**
+     * @return number of the spawn since the last reset, starting at 0
+     */
+    public long getIndex() { return index; }
+
+    public int getObstacleCount() { return obstacles.size(); }
+
+    public int getCoinCount() { return coins.size(); }
+
+    /**
+     * @return number of Coins that should have been spawned, see {@link #getUnplacedCoins()}
+     */
+    public int getRequestedCoins() { return requestedCoins; }
+
+    /**
+     * @return number of requested Coins that weren't spawned because their area was too crowded
+     */
+    public int getUnplacedCoins() { return requestedCoins - coins.size(); }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    private static void copy(Archetype source, Archetype target) {
+        // The source is sorted like the target and keeps the generation order of equal Y
+        // coordinates, so adding its rows one by one gives the same order as adding the
+        // entities directly while generating them
+        for (int row = 0; row < source.size(); ++row) {
+            target.add(source.getX(row), source.getY(row), source.getWidth(row), source.getHeight(row));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package game.spawn;
+
+import game.util.CoinFactory;
+import game.util.GameDifficulty;
+import game.util.ObstacleRowFactory;
+
+/**
+ * Generates the content of a spawn as a pure function of the game's seed, the number of the
+ * spawn and the difficulty parameters at the time of the spawn. The factories are seeded anew
+ * for every spawn, so a spawn doesn't depend on the random numbers drawn by earlier spawns.
+ * That's what allows generating spawns ahead of time on another thread (see {@link SpawnPrefetcher})
+ * without changing the game: the game thread either gets a prefetched batch generated for exactly
+ * these inputs, or it generates the batch itself and gets the same result.
+ */
+public class SpawnGenerator {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    /** Never the params of a real GameDifficulty (the probability would be -0.0). */
+    static final long NO_PARAMS = Long.MIN_VALUE;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final ObstacleRowFactory obsRowFactory;
+    private final CoinFactory coinFactory;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    public SpawnGenerator(int panelWidth, int panelHeight) {
+        obsRowFactory = new ObstacleRowFactory(panelWidth, panelHeight);
+        coinFactory = new CoinFactory(panelWidth, panelHeight);
+    }
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Replaces the content of the batch with the given spawn.
+     *
+     * @param epoch the game the spawn belongs to, only stored in the batch
+     * @param gameSeed seed of the game
+     * @param index number of the spawn since the start of the game
+     * @param params difficulty parameters, see {@link #params(GameDifficulty)}
+     */
+    public void generate(SpawnBatch batch, int epoch, long gameSeed, long index, long params) {
+        long seed = spawnSeed(gameSeed, index);
+        obsRowFactory.setRngSeed(seed);
+        coinFactory.setRngSeed(~seed); // Don't let both factories draw the same numbers
+
+        batch.obstacles.clear();
+        batch.coins.clear();
+        obsRowFactory.createObstacleRow(obstacleProbability(params), batch.obstacles);
+        coinFactory.createCoinsInArea(coinAreaHeight(params), minCoins(params), batch.coins);
+        batch.requestedCoins = coinFactory.getRequestedCoins();
+
+        batch.epoch = epoch;
+        batch.index = index;
+        batch.params = params;
+    }
+
+    /**
+     * Packs the parameters of the GameDifficulty that a spawn depends on into a single value,
+     * so they can be published to another thread and compared at once.
+     */
+    public static long params(GameDifficulty difficulty) {
+        long probability = Float.floatToIntBits(difficulty.getObstacleProbability()) & 0xFFFFFFFFL;
+        long areaHeight = (int)difficulty.getObstacleDistance() & 0xFFFFL;
+        long minCoins = difficulty.getMinCoins() & 0xFFL;
+        return probability << 32 | areaHeight << 8 | minCoins;
+    }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    private static float obstacleProbability(long params) { return Float.intBitsToFloat((int)(params >>> 32)); }
+
+    private static int coinAreaHeight(long params) { return (int)(params >>> 8) & 0xFFFF; }
+
+    private static int minCoins(long params) { return (int)params & 0xFF; }
+
+    /**
+     * Mixes the game's seed and the number of the spawn into the seed of the spawn
+     * (the same mixing function SplittableRandom uses), so neighbouring spawns get unrelated seeds.
+     */
+    private static long spawnSeed(long gameSeed, long index) {
+        long z = gameSeed + (index + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,136 @@
+package game.spawn;
+
+import java.util.concurrent.locks.LockSupport;
+
+import game.util.SpscQueue;
+
+/**
+ * Generates the next spawn on a background thread, so the game thread doesn't have to
+ * when the spawn is due (placing the Coins can take a while, see CoinFactory).
+ * <p>
+ * The game thread publishes what the next spawn is (game, number & difficulty parameters,
+ * see {@link #request(long, long)}), the worker generates a batch for it and passes it back
+ * through a bounded lock-free queue. Whenever the request changes before the spawn is due,
+ * e.g. because the score and with it the difficulty changed, the worker generates the batch
+ * again. Batches that don't match the request anymore are handed back through a second queue
+ * and reused, so nothing is allocated after construction.
+ * <p>
+ * The request is stored in several volatile fields that the game thread may change while the
+ * worker reads them. A batch generated from a mixed up request simply doesn't match any spawn
+ * and is recycled, so that's harmless.
+ */
+public class SpawnPrefetcher implements Runnable {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private static final int BATCHES = 4;
+
+    private final SpawnGenerator generator;
+    private final SpscQueue<SpawnBatch> generated = new SpscQueue<>(BATCHES); // Worker -> game thread
+    private final SpscQueue<SpawnBatch> recycled = new SpscQueue<>(BATCHES);  // Game thread -> worker
+    private final Thread worker;
+
+    // The current request, only written by the game thread
+    private volatile int epoch;
+    private volatile long gameSeed;
+    private volatile long index;
+    private volatile long params = SpawnGenerator.NO_PARAMS;
+
+    private volatile boolean running = true;
+    private volatile long generatedBatches = 0; // Only written by the worker
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    public SpawnPrefetcher(int panelWidth, int panelHeight) {
+        generator = new SpawnGenerator(panelWidth, panelHeight);
+        for (int i = 0; i < BATCHES; ++i) recycled.offer(new SpawnBatch(this));
+        worker = new Thread(this, "Spawn prefetcher");
+        worker.setDaemon(true);
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    /**
+     * Stops the worker. Batches it still generates are dropped.
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++ GAME THREAD +++++++++++++++++++++++++++*/
+    /**
+     * Starts a new game. Nothing is generated until the first {@link #request(long, long)}.
+     */
+    public void restart(int epoch, long gameSeed) {
+        this.params = SpawnGenerator.NO_PARAMS;
+        this.gameSeed = gameSeed;
+        this.index = 0;
+        this.epoch = epoch; // Written last: the worker reads it first
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * Asks for the given spawn of the current game.
+     *
+     * @param params difficulty parameters, see {@link SpawnGenerator#params(game.util.GameDifficulty)}
+     */
+    public void request(long index, long params) {
+        this.index = index;
+        this.params = params;
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * @return the oldest batch generated since the last call, or null if there is none
+     */
+    SpawnBatch poll() {
+        return generated.poll();
+    }
+
+    /**
+     * Hands a batch back to the worker, after it was used or because it didn't match the spawn.
+     */
+    void recycle(SpawnBatch batch) {
+        if (batch.owner != this) throw new IllegalArgumentException("Batch of another prefetcher");
+        recycled.offer(batch); // Can't fail, the queue holds all batches
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * @return number of batches the worker generated so far
+     */
+    public long getGeneratedBatches() { return generatedBatches; }
+    /*------------------------ GAME THREAD ---------------------------*/
+
+    /*+++++++++++++++++++++++++++ WORKER +++++++++++++++++++++++++++++*/
+    @Override
+    public void run() {
+        // The request the last batch was generated for
+        int lastEpoch = epoch - 1;
+        long lastIndex = -1;
+        long lastParams = SpawnGenerator.NO_PARAMS;
+
+        while (running) {
+            int e = epoch;
+            long seed = gameSeed;
+            long i = index;
+            long p = params;
+            if (p != SpawnGenerator.NO_PARAMS && (e != lastEpoch || i != lastIndex || p != lastParams)) {
+                SpawnBatch batch = recycled.poll();
+                if (batch != null) {
+                    generator.generate(batch, e, seed, i, p);
+                    generated.offer(batch); // Can't fail, the queue holds all batches
+                    generatedBatches = generatedBatches + 1;
+                    lastEpoch = e;
+                    lastIndex = i;
+                    lastParams = p;
+                    continue;
+                }
+            }
+            // Woken up by every new request and recycled batch
+            LockSupport.park(this);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package game.spawn;
+
+import java.util.Random;
+
+import game.util.GameDifficulty;
+
+/**
+ * Hands out the content of the spawns of a game, in order. Used by the game thread only.
+ * <p>
+ * Without prefetching every spawn is generated when it's due. With prefetching (see
+ * {@link #setPrefetching(boolean)}) a {@link SpawnPrefetcher} generates the next spawn in the
+ * background and the game thread only copies it into the world, unless the prefetched batch
+ * doesn't match the difficulty at the time of the spawn. Either way, the content only depends
+ * on the seed and the course of the game (see {@link SpawnGenerator}), so prefetching never
+ * changes the game.
+ */
+public class Spawner {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final int panelWidth, panelHeight;
+    private final SpawnGenerator generator;
+    private final SpawnBatch inlineBatch = new SpawnBatch(null);
+
+    // Seeds of unseeded games, so they still differ from each other
+    private final Random seeds = new Random();
+
+    private int epoch = 0;   // Number of the current game
+    private long gameSeed;
+    private long index = 0;  // Number of the next spawn in the current game
+
+    private SpawnPrefetcher prefetcher; // null = no prefetching
+    private long requestedParams = SpawnGenerator.NO_PARAMS;
+    private SpawnBatch ready;   // Prefetched batch that matches the next spawn, if any
+    private SpawnBatch current; // Batch of the last spawn, handed back on the next one
+
+    private long prefetchHits = 0;
+    private long prefetchMisses = 0;
+    private long unplacedCoins = 0;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    public Spawner(int panelWidth, int panelHeight) {
+        this.panelWidth = panelWidth;
+        this.panelHeight = panelHeight;
+        generator = new SpawnGenerator(panelWidth, panelHeight);
+        reset();
+    }
+
+    /**
+     * Starts a new game with a seed drawn from the seeds of the previous games.
+     */
+    public void reset() {
+        restart(seeds.nextLong());
+    }
+
+    /**
+     * Starts a new game with the given seed. Also seeds the seeds of the following unseeded games.
+     */
+    public void reset(long seed) {
+        seeds.setSeed(seed);
+        restart(seed);
+    }
+
+    /**
+     * Starts or stops the background generation of spawns. Doesn't change the content of the spawns.
+     */
+    public void setPrefetching(boolean prefetching) {
+        if (prefetching == (prefetcher != null)) return;
+        if (prefetching) {
+            prefetcher = new SpawnPrefetcher(panelWidth, panelHeight);
+            prefetcher.start();
+            prefetcher.restart(epoch, gameSeed);
+            if (requestedParams != SpawnGenerator.NO_PARAMS) prefetcher.request(index, requestedParams);
+        } else {
+            prefetcher.stop();
+            prefetcher = null;
+            ready = null;
+        }
+    }
+
+    public boolean isPrefetching() { return prefetcher != null; }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Tells the prefetcher the current difficulty, so it can prepare the next spawn for it.
+     * Should be called every tick in which the difficulty may have changed.
+     */
+    public void update(GameDifficulty difficulty) {
+        if (prefetcher == null) return;
+        long params = SpawnGenerator.params(difficulty);
+        if (params != requestedParams) {
+            requestedParams = params;
+            prefetcher.request(index, params);
+        }
+        collect(params);
+    }
+
+    /**
+     * Returns the content of the next spawn for the given difficulty. The batch stays valid until the next call.
+     */
+    public SpawnBatch next(GameDifficulty difficulty) {
+        release(current);
+        current = null;
+        long params = SpawnGenerator.params(difficulty);
+
+        SpawnBatch batch = null;
+        if (prefetcher != null) {
+            collect(params);
+            batch = ready;
+            ready = null;
+            if (batch != null) ++prefetchHits;
+            else ++prefetchMisses;
+        }
+        if (batch == null) {
+            batch = inlineBatch;
+            generator.generate(batch, epoch, gameSeed, index, params);
+        }
+        current = batch;
+        unplacedCoins += batch.getUnplacedCoins();
+
+        ++index;
+        if (prefetcher != null) {
+            // Prepare the following spawn for the current difficulty, in case it doesn't change
+            requestedParams = params;
+            prefetcher.request(index, params);
+        }
+        return batch;
+    }
+
+    /**
+     * @return number of spawns whose prefetched batch could be used
+     */
+    public long getPrefetchHits() { return prefetchHits; }
+
+    /**
+     * @return number of spawns that had to be generated on the game thread although prefetching was on
+     */
+    public long getPrefetchMisses() { return prefetchMisses; }
+
+    /**
+     * @return number of Coins that were requested but didn't fit into their area, over all spawns so far
+     */
+    public long getUnplacedCoins() { return unplacedCoins; }
+
+    @Override
+    public String toString() {
+        return String.format("Spawn prefetching: %s, %d hits, %d misses; unplaced coins: %d",
+                prefetcher != null ? "on" : "off", prefetchHits, prefetchMisses, unplacedCoins);
+    }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    private void restart(long seed) {
+        release(current);
+        release(ready);
+        current = null;
+        ready = null;
+        ++epoch;
+        gameSeed = seed;
+        index = 0;
+        requestedParams = SpawnGenerator.NO_PARAMS;
+        if (prefetcher != null) prefetcher.restart(epoch, gameSeed);
+    }
+
+    /**
+     * Takes the batches the prefetcher generated since the last call. Keeps the newest one
+     * that matches the next spawn and hands all others back.
+     */
+    private void collect(long params) {
+        if (ready != null && !ready.matches(epoch, index, params)) {
+            release(ready);
+            ready = null;
+        }
+        SpawnBatch batch;
+        while ((batch = prefetcher.poll()) != null) {
+            if (batch.matches(epoch, index, params)) {
+                release(ready);
+                ready = batch;
+            } else {
+                release(batch);
+            }
+        }
+    }
+
+    /**
+     * Hands a prefetched batch back to its prefetcher. Batches of a stopped prefetcher are just dropped.
+     */
+    private void release(SpawnBatch batch) {
+        if (batch != null && batch.owner != null && batch.owner == prefetcher) prefetcher.recycle(batch);
+    }
+}
@@ -0,0 +1,31 @@
+package game.systems;
+
+import game.ecs.Archetype;
+import game.ecs.EcsSystem;
+
+/**
+ * Drops the entities of an archetype that have already left the panel (so we don't run
+ * out of RAM) together with the ones removed during the tick, e.g. collected Coins.
+ */
+public class CleanupSystem extends EcsSystem {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final Archetype archetype;
+    private final GameState state;
+    private final double panelHeight;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    public CleanupSystem(Archetype archetype, GameState state, int panelHeight) {
+        super("cleanup " + archetype.getName());
+        this.archetype = archetype;
+        this.state = state;
+        this.panelHeight = panelHeight;
+        reads(GameState.SCORE);
+        writes(archetype.allKeys());
+    }
+
+    @Override
+    public void run() {
+        if (state.gameOver) return;
+        archetype.compact(panelHeight);
+    }
+}
@@ -0,0 +1,59 @@
+package game.systems;
+
+import game.ecs.Archetype;
+import game.ecs.Component;
+import game.ecs.EcsSystem;
+import game.entities.Intersections;
+
+/**
+ * Collects all Coins that the Player currently touches and removes them in a single pass.
+ * Only the Coins in the horizontal band occupied by the Player are tested.
+ */
+public class CoinCollectionSystem extends EcsSystem {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final Archetype players;
+    private final Archetype coins;
+    private final GameState state;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    public CoinCollectionSystem(Archetype players, Archetype coins, GameState state) {
+        super("coin collection");
+        this.players = players;
+        this.coins = coins;
+        this.state = state;
+        reads(players.rowsKey(), players.key(Component.POSITION), players.key(Component.SIZE),
+                coins.key(Component.POSITION), coins.key(Component.SIZE));
+        writes(coins.rowsKey(), GameState.COLLECTED);
+    }
+
+    @Override
+    public void run() {
+        double[] x = players.column(Component.POSITION, Component.X);
+        double[] y = players.column(Component.POSITION, Component.Y);
+        double[] size = players.column(Component.SIZE, Component.WIDTH);
+        double[] coinX = coins.column(Component.POSITION, Component.X);
+        double[] coinY = coins.column(Component.POSITION, Component.Y);
+        double[] coinSize = coins.column(Component.SIZE, Component.WIDTH);
+        int collected = 0;
+        for (int p = 0; p < players.size(); ++p) {
+            if (players.isRemoved(p)) continue;
+            // The Player's hitbox is a circle
+            double radius = size[p] / 2.0;
+            double centerX = x[p] + radius;
+            double centerY = y[p] + radius;
+            int start = coins.bandStart(y[p] + size[p]);
+            int end = coins.bandEnd(y[p]);
+            for (int i = start; i < end; ++i) {
+                if (coins.isRemoved(i)) continue;
+                // Coins are circles, too
+                double coinRadius = coinSize[i] / 2.0;
+                if (Intersections.circleIntersectsCircle(centerX, centerY, radius,
+                        coinX[i] + coinRadius, coinY[i] + coinRadius, coinRadius)) {
+                    coins.remove(i);
+                    ++collected;
+                }
+            }
+        }
+        state.collectedCoins = collected;
+    }
+}
@@ -0,0 +1,28 @@
+package game.systems;
+
+import game.ecs.Archetype;
+import game.ecs.EcsSystem;
+
+/**
+ * Adds the Coins of the spawn chosen by the {@link SpawnTriggerSystem}, if there is one.
+ * They are placed between the new Obstacle row and the next one.
+ */
+public class CoinSpawnSystem extends EcsSystem {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final Archetype coins;
+    private final GameState state;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    public CoinSpawnSystem(Archetype coins, GameState state) {
+        super("coin spawn");
+        this.coins = coins;
+        this.state = state;
+        reads(GameState.SPAWN);
+        writes(coins.allKeys());
+    }
+
+    @Override
+    public void run() {
+        if (state.spawnBatch != null) state.spawnBatch.copyCoinsTo(coins);
+    }
+}
@@ -0,0 +1,76 @@
+package game.systems;
+
+import game.input.InputState;
+import game.spawn.SpawnBatch;
+import game.util.GameDifficulty;
+
+/**
+ * The state of a game that doesn't belong to any entity: score, difficulty, statistics
+ * and the intermediate results the systems hand to each other within a tick.
+ * <p>
+ * The systems declare their accesses to this state with the keys defined here, just like
+ * they do for the components of an archetype (see {@link game.ecs.EcsSystem}).
+ */
+public class GameState {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    /** The player input of the current tick. */
+    public static final String INPUT = "input";
+    /** Whether the Player touched an Obstacle in the current tick. */
+    public static final String CONTACTS = "contacts";
+    /** Number of Coins collected in the current tick. */
+    public static final String COLLECTED = "collected";
+    /** Score, statistics, game over flag & scroll distance of the current tick. */
+    public static final String SCORE = "score";
+    /** The current GameDifficulty. */
+    public static final String DIFFICULTY = "difficulty";
+    /** The new Obstacle row & Coins spawned in the current tick, if any. */
+    public static final String SPAWN = "spawn";
+
+    InputState input = new InputState();
+    boolean obstacleContact;
+    int collectedCoins;
+    int score;
+    int obstacleHits;
+    int coinsCollected;
+    boolean gameOver;
+    double lastScrollDelta; // Distance that Coins & Obstacles moved down during the last tick
+    GameDifficulty gameDifficulty = new GameDifficulty();
+    SpawnBatch spawnBatch; // null if nothing is spawned in the current tick
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    public void reset() {
+        obstacleContact = false;
+        collectedCoins = 0;
+        score = 0;
+        obstacleHits = 0;
+        coinsCollected = 0;
+        gameOver = false;
+        lastScrollDelta = 0.0;
+        gameDifficulty = new GameDifficulty();
+        spawnBatch = null;
+    }
+
+    /**
+     * Sets the input for the next tick and clears the results of the previous one.
+     */
+    public void beginTick(InputState input) {
+        this.input = input;
+        obstacleContact = false;
+        collectedCoins = 0;
+        lastScrollDelta = 0.0;
+        spawnBatch = null;
+    }
+
+    public int getScore() { return score; }
+
+    public int getObstacleHits() { return obstacleHits; }
+
+    public int getCoinsCollected() { return coinsCollected; }
+
+    public boolean isGameOver() { return gameOver; }
+
+    public double getLastScrollDelta() { return lastScrollDelta; }
+
+    public GameDifficulty getGameDifficulty() { return gameDifficulty; }
+}
@@ -0,0 +1,122 @@
+package game.systems;
+
+import game.ecs.Archetype;
+import game.ecs.Component;
+import game.ecs.EcsSystem;
+import game.profiling.CollisionEvent;
+
+/**
+ * Pushes the Player out of all Obstacles it overlaps and flags it as hit.
+ * Only the Obstacles in the horizontal band occupied by the Player are tested.
+ * Every Obstacle is resolved in a single step (see {@link #resolveOverlap}), so the
+ * cost only depends on the number of Obstacles in the band, not on how deep the Player is stuck.
+ * Several contacts are resolved one after another. The gaps of an Obstacle row are wider than
+ * the Player, so being pushed out of one Obstacle can't push the Player into its neighbour.
+ */
+public class ObstacleCollisionSystem extends EcsSystem {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    // Extra distance the Player is pushed out of an Obstacle, so rounding errors don't leave it touching
+    private static final double SEPARATION = 1e-6;
+
+    private final Archetype players;
+    private final Archetype obstacles;
+    private final GameState state;
+
+    // Position of the Player that is currently resolved
+    private double playerX, playerY;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    public ObstacleCollisionSystem(Archetype players, Archetype obstacles, GameState state) {
+        super("obstacle collision");
+        this.players = players;
+        this.obstacles = obstacles;
+        this.state = state;
+        reads(players.rowsKey(), players.key(Component.SIZE),
+                obstacles.rowsKey(), obstacles.key(Component.POSITION), obstacles.key(Component.SIZE));
+        writes(players.key(Component.POSITION), players.key(Component.HIT), GameState.CONTACTS);
+    }
+
+    @Override
+    public void run() {
+        double[] x = players.column(Component.POSITION, Component.X);
+        double[] y = players.column(Component.POSITION, Component.Y);
+        double[] size = players.column(Component.SIZE, Component.WIDTH);
+        double[] hit = players.column(Component.HIT, 0);
+        for (int p = 0; p < players.size(); ++p) {
+            if (players.isRemoved(p)) continue;
+            CollisionEvent event = null;
+            if (CollisionEvent.isRecorded()) {
+                event = new CollisionEvent();
+                event.begin();
+            }
+
+            // The Player's hitbox is a circle
+            double radius = size[p] / 2.0;
+            playerX = x[p];
+            playerY = y[p];
+            int contacts = 0;
+            int start = obstacles.bandStart(y[p] + size[p]);
+            int end = obstacles.bandEnd(y[p]);
+            double[] obsX = obstacles.column(Component.POSITION, Component.X);
+            double[] obsY = obstacles.column(Component.POSITION, Component.Y);
+            double[] obsWidth = obstacles.column(Component.SIZE, Component.WIDTH);
+            double[] obsHeight = obstacles.column(Component.SIZE, Component.HEIGHT);
+            for (int i = start; i < end; ++i) {
+                if (obstacles.isRemoved(i)) continue;
+                if (resolveOverlap(radius, obsX[i], obsY[i], obsWidth[i], obsHeight[i])) ++contacts;
+            }
+            x[p] = playerX;
+            y[p] = playerY;
+            hit[p] = contacts > 0 ? 1.0 : 0.0;
+            if (contacts > 0) state.obstacleContact = true;
+
+            if (event != null && contacts > 0 && event.shouldCommit()) {
+                event.candidates = end - start;
+                event.contacts = contacts;
+                event.playerX = x[p];
+                event.playerY = y[p];
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Pushes the Player (a circle at playerX/playerY) out of the given rectangle along the minimum
+     * translation vector, i.e. the shortest way out. If the circle's center is outside the rectangle,
+     * that's directly away from the nearest point of the rectangle. If it's inside, the Player leaves
+     * through the nearest edge.
+     *
+     * @return true if the Player overlapped the rectangle
+     */
+    private boolean resolveOverlap(double radius, double rectX, double rectY, double rectWidth, double rectHeight) {
+        double centerX = playerX + radius;
+        double centerY = playerY + radius;
+
+        // Point of the rectangle that is nearest to the center
+        double nearestX = Math.max(rectX, Math.min(centerX, rectX + rectWidth));
+        double nearestY = Math.max(rectY, Math.min(centerY, rectY + rectHeight));
+        double dx = centerX - nearestX;
+        double dy = centerY - nearestY;
+        double distanceSq = dx * dx + dy * dy;
+        if (distanceSq >= radius * radius) return false;
+
+        if (distanceSq > 0.0) {
+            double distance = Math.sqrt(distanceSq);
+            double depth = radius - distance + SEPARATION;
+            playerX += dx / distance * depth;
+            playerY += dy / distance * depth;
+        } else {
+            // Center inside the rectangle: leave through the nearest edge
+            double toLeft = centerX - rectX;
+            double toRight = rectX + rectWidth - centerX;
+            double toTop = centerY - rectY;
+            double toBottom = rectY + rectHeight - centerY;
+            double nearest = Math.min(Math.min(toLeft, toRight), Math.min(toTop, toBottom));
+            if (nearest == toTop) playerY -= toTop + radius + SEPARATION;
+            else if (nearest == toBottom) playerY += toBottom + radius + SEPARATION;
+            else if (nearest == toLeft) playerX -= toLeft + radius + SEPARATION;
+            else playerX += toRight + radius + SEPARATION;
+        }
+        return true;
+    }
+}
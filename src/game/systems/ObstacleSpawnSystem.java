@@ -0,0 +1,27 @@
+package game.systems;
+
+import game.ecs.Archetype;
+import game.ecs.EcsSystem;
+
+/**
+ * Adds the Obstacle row of the spawn chosen by the {@link SpawnTriggerSystem}, if there is one.
+ */
+public class ObstacleSpawnSystem extends EcsSystem {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final Archetype obstacles;
+    private final GameState state;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    public ObstacleSpawnSystem(Archetype obstacles, GameState state) {
+        super("obstacle spawn");
+        this.obstacles = obstacles;
+        this.state = state;
+        reads(GameState.SPAWN);
+        writes(obstacles.allKeys());
+    }
+
+    @Override
+    public void run() {
+        if (state.spawnBatch != null) state.spawnBatch.copyObstaclesTo(obstacles);
+    }
+}
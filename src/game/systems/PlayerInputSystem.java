@@ -0,0 +1,74 @@
+package game.systems;
+
+import game.ecs.Archetype;
+import game.ecs.Component;
+import game.ecs.EcsSystem;
+import game.entities.Player;
+import game.input.InputState;
+
+/**
+ * Moves the Player according to the input of the tick and turns its sprite into the direction
+ * of movement. The Player can't leave the panel. A change of speed (sprinting) takes effect
+ * in the next tick.
+ */
+public class PlayerInputSystem extends EcsSystem {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private static final double ROTATE_DEGREES = Player.ROTATE_DEGREES;
+    private static final double BOOST_ROTATE_FACTOR = Player.BOOST_ROTATE_FACTOR;
+
+    private final Archetype players;
+    private final GameState state;
+    private final double panelWidth, panelHeight;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    public PlayerInputSystem(Archetype players, GameState state, int panelWidth, int panelHeight) {
+        super("input");
+        this.players = players;
+        this.state = state;
+        this.panelWidth = panelWidth;
+        this.panelHeight = panelHeight;
+        reads(GameState.INPUT, players.rowsKey(), players.key(Component.SIZE));
+        writes(players.key(Component.POSITION), players.key(Component.PREVIOUS_POSITION),
+                players.key(Component.SPEED), players.key(Component.ROTATION));
+    }
+
+    @Override
+    public void run() {
+        InputState input = state.input;
+        double[] x = players.column(Component.POSITION, Component.X);
+        double[] y = players.column(Component.POSITION, Component.Y);
+        double[] width = players.column(Component.SIZE, Component.WIDTH);
+        double[] height = players.column(Component.SIZE, Component.HEIGHT);
+        double[] prevX = players.column(Component.PREVIOUS_POSITION, Component.X);
+        double[] prevY = players.column(Component.PREVIOUS_POSITION, Component.Y);
+        double[] speed = players.column(Component.SPEED, 0);
+        double[] rotation = players.column(Component.ROTATION, 0);
+
+        for (int i = 0; i < players.size(); ++i) {
+            if (players.isRemoved(i)) continue;
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+
+            // Sprite rotation is movement-dependent, so we reset it and update it based on input
+            double spriteRotation = 0.0;
+            if (input.up() && y[i] > 0.0) y[i] -= speed[i];
+            if (input.down() && y[i] < panelHeight - height[i]) y[i] += speed[i];
+            if (input.left()) {
+                spriteRotation -= ROTATE_DEGREES;
+                if (x[i] > 0.0) x[i] -= speed[i];
+            }
+            if (input.right()) {
+                spriteRotation += ROTATE_DEGREES;
+                if (x[i] < panelWidth - width[i]) x[i] += speed[i];
+            }
+
+            if (input.sprint()) {
+                spriteRotation *= BOOST_ROTATE_FACTOR;
+                speed[i] = Player.BOOST_SPEED;
+            } else {
+                speed[i] = Player.DEFAULT_SPEED;
+            }
+            rotation[i] = spriteRotation;
+        }
+    }
+}
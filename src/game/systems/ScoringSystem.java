@@ -0,0 +1,62 @@
+package game.systems;
+
+import game.ecs.Archetype;
+import game.ecs.Component;
+import game.ecs.EcsSystem;
+
+/**
+ * Punishes Obstacle contacts, rewards collected Coins, checks the losing conditions and
+ * adjusts the GameDifficulty to the new score. Also decides how far the world scrolls this tick.
+ */
+public class ScoringSystem extends EcsSystem {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final Archetype players;
+    private final GameState state;
+    private final double panelHeight;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    public ScoringSystem(Archetype players, GameState state, int panelHeight) {
+        super("scoring");
+        this.players = players;
+        this.state = state;
+        this.panelHeight = panelHeight;
+        reads(players.rowsKey(), players.key(Component.POSITION), GameState.CONTACTS, GameState.COLLECTED);
+        writes(GameState.SCORE, GameState.DIFFICULTY);
+    }
+
+    @Override
+    public void run() {
+        int oldScore = state.score;
+        if (state.obstacleContact) {
+            state.score -= 10; // Punish player
+            ++state.obstacleHits;
+        }
+        state.score += 100 * state.collectedCoins; // Reward player
+        state.coinsCollected += state.collectedCoins;
+
+        if (checkGameOver()) {
+            state.gameOver = true;
+            return;
+        }
+
+        // Adjust game difficulty based on Score
+        if (state.score != oldScore) {
+            state.gameDifficulty.setDifficultyFromScore(state.score);
+        }
+        state.lastScrollDelta = state.gameDifficulty.getEntitySpeed();
+    }
+
+    /**
+     * Defines/Checks losing conditions and returns result.
+     *
+     * @return boolean, if the current game is lost or not
+     */
+    private boolean checkGameOver() {
+        if (state.score < 0) return true;
+        double[] y = players.column(Component.POSITION, Component.Y);
+        for (int p = 0; p < players.size(); ++p) {
+            if (!players.isRemoved(p) && y[p] > panelHeight) return true;
+        }
+        return false;
+    }
+}
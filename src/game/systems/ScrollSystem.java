@@ -0,0 +1,35 @@
+package game.systems;
+
+import game.ecs.Archetype;
+import game.ecs.Component;
+import game.ecs.EcsSystem;
+
+/**
+ * Moves all entities of a scrolling archetype down by the scroll distance of the tick.
+ * All of them move by the same distance, so the order of the rows doesn't change.
+ */
+public class ScrollSystem extends EcsSystem {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final Archetype archetype;
+    private final GameState state;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    public ScrollSystem(Archetype archetype, GameState state) {
+        super("scroll " + archetype.getName());
+        if (!archetype.has(Component.SCROLLING))
+            throw new IllegalArgumentException(archetype.getName() + " doesn't scroll");
+        this.archetype = archetype;
+        this.state = state;
+        reads(archetype.rowsKey(), GameState.SCORE);
+        writes(archetype.key(Component.POSITION));
+    }
+
+    @Override
+    public void run() {
+        if (state.gameOver) return;
+        double distance = state.lastScrollDelta;
+        double[] y = archetype.column(Component.POSITION, Component.Y);
+        // Removed rows move, too. They're dropped with the others once they leave the panel.
+        for (int i = 0, n = archetype.size(); i < n; ++i) y[i] += distance;
+    }
+}
@@ -0,0 +1,43 @@
+package game.systems;
+
+import game.ecs.Archetype;
+import game.ecs.Component;
+import game.ecs.EcsSystem;
+import game.spawn.Spawner;
+import game.util.GameDifficulty;
+
+/**
+ * Decides if a new Obstacle row (and its Coins) is spawned this tick: that's the case
+ * if the newest Obstacle has moved down further than the current Obstacle distance.
+ * If so, it takes the content of the spawn from the {@link Spawner}, which also learns
+ * about every change of the difficulty so it can prepare the next spawn ahead of time.
+ */
+public class SpawnTriggerSystem extends EcsSystem {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final Archetype obstacles;
+    private final GameState state;
+    private final Spawner spawner;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    public SpawnTriggerSystem(Archetype obstacles, GameState state, Spawner spawner) {
+        super("spawn trigger");
+        this.obstacles = obstacles;
+        this.state = state;
+        this.spawner = spawner;
+        reads(obstacles.rowsKey(), obstacles.key(Component.POSITION), GameState.SCORE, GameState.DIFFICULTY);
+        writes(GameState.SPAWN);
+    }
+
+    @Override
+    public void run() {
+        state.spawnBatch = null;
+        if (state.gameOver) return;
+
+        GameDifficulty difficulty = state.gameDifficulty;
+        spawner.update(difficulty);
+        int lastObstacle = obstacles.lastLiveRow();
+        if (lastObstacle < 0 || obstacles.getY(lastObstacle) > difficulty.getObstacleDistance()) {
+            state.spawnBatch = spawner.next(difficulty);
+        }
+    }
+}
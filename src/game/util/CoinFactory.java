@@ -1,13 +1,30 @@
 package game.util;
 
+import game.ecs.Archetype;
 import game.entities.Coin;
 import game.entities.Obstacle;
+import game.profiling.CoinSpawnEvent;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 public class CoinFactory extends BaseFactory {
 
+    /** Random positions tried per Coin before it's given up, bounds the work per batch. */
+    private static final int MAX_ATTEMPTS_PER_COIN = 30;
+
+    private static final int DIAMETER = Coin.DEFAULT_COIN_DIAMETER;
+    // Cells of the background grid are small enough that each can hold only one Coin
+    // (their diagonal is the diameter), so a Coin's neighbours are at most 2 cells away.
+    private static final double CELL_SIZE = DIAMETER / Math.sqrt(2.0);
+    private static final int NEIGHBOUR_CELLS = (int)Math.ceil(DIAMETER / CELL_SIZE);
+
+    // Reused between calls, so placing Coins doesn't allocate anything
+    private int[] placedX = new int[8];
+    private int[] placedY = new int[8];
+    private int[] grid = new int[0]; // Index + 1 of the Coin in each cell, 0 if empty
+
+    private int requestedCoins = 0; // Number of Coins the last batch should have had
+
     public CoinFactory(int panelWidth, int panelHeight) {
         super(panelWidth, panelHeight);
     }
@@ -15,48 +32,111 @@ public class CoinFactory extends BaseFactory {
     /**
      * Creates coins that are placed randomly in a rectangular area
      * with a specified height and the width of the game panel (in pixels).
-     * These coins are then added to the provided List of Coin Objects.
+     * These coins are then added to the provided archetype.
+     * <p>
+     * Coins don't overlap each other. Positions are drawn at random ("dart throwing") and
+     * checked against a background grid, so each try only looks at the few Coins in the
+     * neighbouring cells. A Coin is given up after {@value #MAX_ATTEMPTS_PER_COIN} failed
+     * tries, so the cost per batch is bounded even if the area is too small for all Coins.
      *
      * @param areaHeight height of the area in pixels
      * @param minCoins minimum number of coins
-     * @param coins list of coins
+     * @param coins The archetype that receives the Coins
+     * @return number of coins created. Less than requested if they didn't fit into the area.
      */
-    public void createCoinsInArea(int areaHeight, int minCoins, List<Coin> coins) {
+    public int createCoinsInArea(int areaHeight, int minCoins, Archetype coins) {
+        CoinSpawnEvent event = null;
+        if (CoinSpawnEvent.isRecorded()) {
+            event = new CoinSpawnEvent();
+            event.begin();
+        }
+        int retries = 0;
+        int placed = 0;
+
         // Randomly define the number of coins to generate
-        final int numOfCoins = minCoins + rng.nextInt(4);
+        final int numOfCoins = Math.max(minCoins + rng.nextInt(4), 0);
 
-        if(numOfCoins > 0) {
-            // Define bounds for random coordinates
-            int minX = Coin.DEFAULT_COIN_DIAMETER;
-            int maxX = panelWidth - (2 * Coin.DEFAULT_COIN_DIAMETER);
-            int minY = -(Obstacle.DEFAULT_HEIGHT + areaHeight - Coin.DEFAULT_COIN_DIAMETER);
-            int maxY = -(Obstacle.DEFAULT_HEIGHT + 2 * Coin.DEFAULT_COIN_DIAMETER);
-            int rangeX = maxX - minX;
-            int rangeY = maxY - minY;
+        // Define bounds for random coordinates
+        int minX = DIAMETER;
+        int maxX = panelWidth - (2 * DIAMETER);
+        int minY = -(Obstacle.DEFAULT_HEIGHT + areaHeight - DIAMETER);
+        int maxY = -(Obstacle.DEFAULT_HEIGHT + 2 * DIAMETER);
+        int rangeX = maxX - minX;
+        int rangeY = maxY - minY;
 
-            List<Coin> newCoins = new ArrayList<>(numOfCoins);
+        if (numOfCoins > 0 && rangeX > 0 && rangeY > 0) {
+            if (placedX.length < numOfCoins) {
+                placedX = new int[numOfCoins];
+                placedY = new int[numOfCoins];
+            }
+            final int columns = (int)Math.ceil(rangeX / CELL_SIZE);
+            final int rows = (int)Math.ceil(rangeY / CELL_SIZE);
+            if (grid.length < columns * rows) grid = new int[columns * rows];
+            Arrays.fill(grid, 0, columns * rows, 0);
 
             // Generate <numOfCoins> new Coins
             for (int i = 0; i < numOfCoins; ++i) {
-                Coin potentialCoin = null;
-                while(potentialCoin == null) {
+                for (int attempt = 0; attempt < MAX_ATTEMPTS_PER_COIN; ++attempt) {
                     // Generate random coordinates for next Coin
-                    int x = minX + rng.nextInt(rangeX);
-                    int y = minY + rng.nextInt(rangeY);
-                    potentialCoin = new Coin(x, y, panelWidth, panelHeight);
-
-                    // Check if the generated Coin overlaps with existing Coins
-                    // and if it does, discard it and create a new one
-                    for(Coin c: newCoins) {
-                        if(potentialCoin.collidesWith(c)) {
-                            potentialCoin = null;
-                            break;
-                        }
+                    int dx = rng.nextInt(rangeX);
+                    int dy = rng.nextInt(rangeY);
+                    int column = (int)(dx / CELL_SIZE);
+                    int row = (int)(dy / CELL_SIZE);
+
+                    if (overlapsNeighbours(minX + dx, minY + dy, column, row, columns, rows)) {
+                        ++retries;
+                        continue;
                     }
+                    placedX[placed] = minX + dx;
+                    placedY[placed] = minY + dy;
+                    grid[row * columns + column] = ++placed;
+                    break;
                 }
-                newCoins.add(potentialCoin);
             }
-            coins.addAll(newCoins);
+            for (int i = 0; i < placed; ++i) {
+                coins.add(placedX[i], placedY[i], DIAMETER, DIAMETER);
+            }
+        }
+        requestedCoins = numOfCoins;
+
+        if (event != null && event.shouldCommit()) {
+            event.coins = placed;
+            event.requestedCoins = numOfCoins;
+            event.retries = retries;
+            event.areaHeight = areaHeight;
+            event.commit();
+        }
+        return placed;
+    }
+
+    /**
+     * @return number of Coins the last call of {@link #createCoinsInArea(int, int, Archetype)} tried to place,
+     * including those that didn't fit into the area
+     */
+    public int getRequestedCoins() {
+        return requestedCoins;
+    }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    /**
+     * Checks if a Coin at the given position would overlap a Coin placed before,
+     * looking only at the grid cells close enough to contain one.
+     */
+    private boolean overlapsNeighbours(int x, int y, int column, int row, int columns, int rows) {
+        int firstRow = Math.max(row - NEIGHBOUR_CELLS, 0);
+        int lastRow = Math.min(row + NEIGHBOUR_CELLS, rows - 1);
+        int firstColumn = Math.max(column - NEIGHBOUR_CELLS, 0);
+        int lastColumn = Math.min(column + NEIGHBOUR_CELLS, columns - 1);
+        for (int r = firstRow; r <= lastRow; ++r) {
+            for (int c = firstColumn; c <= lastColumn; ++c) {
+                int coin = grid[r * columns + c] - 1;
+                if (coin < 0) continue;
+                // Both Coins are circles with the same diameter
+                long distX = placedX[coin] - x;
+                long distY = placedY[coin] - y;
+                if (distX * distX + distY * distY < (long) DIAMETER * DIAMETER) return true;
+            }
         }
+        return false;
     }
 }
@@ -0,0 +1,50 @@
+package game.util;
+
+import game.loop.LoopMode;
+
+/**
+ * Optional engine settings. The values are read once from system properties,
+ * e.g. {@code java -Dgame.loop=fixed -Dgame.tickRate=120 Main}.
+ */
+public final class GameConfig {
+    /** Which game loop implementation to use ("variable" or "fixed"). */
+    public static final LoopMode LOOP_MODE = LoopMode.fromString(System.getProperty("game.loop"));
+
+    /** Simulation ticks per second in the fixed timestep loop. Entity speeds are given per tick! */
+    public static final int TICK_RATE = Math.max(1, Integer.getInteger("game.tickRate", 60));
+
+    /** Rendered frames per second in the fixed timestep loop. */
+    public static final int FRAME_RATE = Math.max(1, Integer.getInteger("game.frameRate", 60));
+
+    /** Maximum number of ticks simulated per frame when the loop has fallen behind. */
+    public static final int MAX_CATCH_UP_TICKS = Math.max(1, Integer.getInteger("game.maxCatchUpTicks", 5));
+
+    /** Print frame time percentiles and jitter to the console every few seconds. */
+    public static final boolean REPORT_FRAME_TIMES = Boolean.getBoolean("game.reportFrameTimes");
+
+    /** How frames get onto the screen ("passive", "bufferstrategy" or "volatile"), see ui.render.RenderMode. */
+    public static final String RENDER_MODE = System.getProperty("game.render", "passive");
+
+    /** Directory to save a recording of every finished game in, see game.replay.ReplayRunner. Null = don't record. */
+    public static final String RECORD_DIR = System.getProperty("game.record");
+
+    /** Maximum memory of all loaded & scaled images in MB, see ResourceHelper. */
+    public static final int IMAGE_CACHE_MB = Math.max(1, Integer.getInteger("game.imageCacheMB", 64));
+
+    /** Number of parallax star field layers in front of the background image. */
+    public static final int STAR_LAYERS = Math.max(0, Integer.getInteger("game.starLayers", 0));
+
+    /** Lower the resolution the world is rendered at while painting takes longer than its budget, see ui.render.ResolutionScaler. */
+    public static final boolean DYNAMIC_RESOLUTION = Boolean.getBoolean("game.dynamicResolution");
+
+    /** Paint time budget for dynamic resolution, in percent of the frame time. */
+    public static final int PAINT_BUDGET_PERCENT = Math.max(1, Integer.getInteger("game.paintBudgetPercent", 50));
+
+    /** Run independent systems of a tick in parallel on the common ForkJoinPool, see game.ecs.SystemScheduler. */
+    public static final boolean PARALLEL_SYSTEMS = Boolean.getBoolean("game.parallelSystems");
+
+    /** Generate new Obstacle rows & Coins on a background thread before they are needed, see game.spawn.SpawnPrefetcher. */
+    public static final boolean PREFETCH_SPAWNS = Boolean.parseBoolean(System.getProperty("game.prefetchSpawns", "true"));
+
+    private GameConfig() {}
+}
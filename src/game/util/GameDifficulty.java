@@ -1,6 +1,7 @@
 package game.util;
 
 import game.entities.Player;
+import game.profiling.DifficultyEvent;
 
 /**
  * Provides game variables derived from the current difficulty.
@@ -41,7 +42,18 @@ public class GameDifficulty {
     }
 
     public void setDifficultyFromScore(double score) {
+        double oldDifficulty = difficulty;
         setDifficulty(Math.min(score, SCORE_LIMIT) / SCORE_LIMIT);
+
+        if (difficulty != oldDifficulty && DifficultyEvent.isRecorded()) {
+            DifficultyEvent event = new DifficultyEvent();
+            if (event.shouldCommit()) {
+                event.score = score;
+                event.oldDifficulty = oldDifficulty;
+                event.newDifficulty = difficulty;
+                event.commit();
+            }
+        }
     }
 
     public double getObstacleDistance() {
@@ -0,0 +1,141 @@
+package game.util;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Least-recently-used cache for images, bounded by the memory their pixels take up.
+ * Images are keyed by (resource path, size, rendering hints used for scaling), where
+ * a size of 0x0 stands for the original image as it was decoded.
+ * <p>
+ * The cached images are shared, so never draw onto them! All methods are thread-safe.
+ */
+public class ImageCache {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final long maxBytes;
+    private long currentBytes = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    // Access-ordered, so the first entry is always the least recently used one
+    private final LinkedHashMap<Key, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Identifies an image in the cache.
+     */
+    public static final class Key {
+        private final String path;
+        private final int width, height;
+        private final RenderingHints hints; // null for the original image
+
+        public Key(String path, int width, int height, RenderingHints hints) {
+            this.path = Objects.requireNonNull(path);
+            this.width = width;
+            this.height = height;
+            this.hints = hints != null ? (RenderingHints) hints.clone() : null; // Hints are mutable
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return width == other.width && height == other.height
+                    && path.equals(other.path) && Objects.equals(hints, other.hints);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, width, height, hints);
+        }
+
+        @Override
+        public String toString() {
+            return path + (width > 0 ? " @" + width + "x" + height : " (original)");
+        }
+    }
+
+    /**
+     * Creates an image for a key that isn't cached yet.
+     */
+    public interface Loader {
+        BufferedImage load(Key key);
+    }
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    /**
+     * @param maxBytes maximum memory of all cached images, estimated as 4 bytes per pixel
+     */
+    public ImageCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Returns the cached image for the key, or creates it with the loader and caches it.
+     * Least recently used images are evicted if the cache grows beyond its limit; an image
+     * that is larger than the whole cache is returned, but not cached.
+     */
+    public synchronized BufferedImage get(Key key, Loader loader) {
+        BufferedImage image = images.get(key);
+        if (image != null) {
+            ++hits;
+            return image;
+        }
+
+        ++misses;
+        image = loader.load(key); // Holding the lock, so concurrent requests don't load the same image twice
+        long bytes = sizeOf(image);
+        if (bytes <= maxBytes) {
+            images.put(key, image);
+            currentBytes += bytes;
+            evictUntil(maxBytes);
+        }
+        return image;
+    }
+
+    public synchronized void clear() {
+        images.clear();
+        currentBytes = 0;
+    }
+
+    public synchronized int getEntries() { return images.size(); }
+
+    public synchronized long getCurrentBytes() { return currentBytes; }
+
+    public long getMaxBytes() { return maxBytes; }
+
+    public synchronized long getHits() { return hits; }
+
+    public synchronized long getMisses() { return misses; }
+
+    public synchronized long getEvictions() { return evictions; }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Image cache: %d images, %.1f/%.1f MB, %d hits, %d misses, %d evictions",
+                images.size(), currentBytes / 1048576.0, maxBytes / 1048576.0, hits, misses, evictions);
+    }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    private void evictUntil(long limitBytes) {
+        Iterator<Map.Entry<Key, BufferedImage>> it = images.entrySet().iterator();
+        while (currentBytes > limitBytes && it.hasNext()) {
+            currentBytes -= sizeOf(it.next().getValue());
+            it.remove();
+            ++evictions;
+        }
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        return 4L * image.getWidth() * image.getHeight();
+    }
+}
@@ -1,14 +1,20 @@
 package game.util;
 
+import game.ecs.Archetype;
 import game.entities.Obstacle;
 import game.entities.Player;
-
-import java.util.List;
+import game.profiling.ObstacleRowEvent;
 
 public class ObstacleRowFactory extends BaseFactory {
 
+    // Type of each part of the current row (obstacle or gap?), reused for every row
+    private final boolean[] partIsObstacle;
+
     public ObstacleRowFactory(int panelWidth, int panelHeight) {
         super(panelWidth, panelHeight);
+        // The panel is divided in N parts which the player is guaranteed to fit through.
+        final int N = (int) (panelWidth / (Player.DEFAULT_WIDTH * 2.0 + 2.0)); // use gameDiff?
+        partIsObstacle = new boolean[N];
     }
 
     /**
@@ -22,30 +28,37 @@ public class ObstacleRowFactory extends BaseFactory {
     }
 
     /**
-     * Creates random obstacles in a horizontal row and adds them to the given List of Obstacles.
+     * Creates random obstacles in a horizontal row and adds them to the given archetype.
      * The row has at least one gap for the player to fit through. The minimum width of these
      * gaps is determined by the current game difficulty (TODO).
      * The obstacles have equal height and are placed just outside the upper bound of the
      * game panel, with their Y-coordinates defined as the negative default_row_height value.
      *
-     * @param obstacles A List of Obstacle objects
+     * @param obstacles The archetype that receives the Obstacles
      */
-    public void createObstacleRow(float obstacleProbability, List<Obstacle> obstacles) {
+    public void createObstacleRow(float obstacleProbability, Archetype obstacles) {
         // This function divides the panelWidth in N parts which the player is guaranteed to fit through.
         // It then "coinflips" for each part to determine if it's a gap or an obstacle, but the heads/tails
         // (true/false) probabilities are derived from the game difficulty, so that gaps might be less
         // likely to occur on harder levels.
+        ObstacleRowEvent event = null;
+        if (ObstacleRowEvent.isRecorded()) {
+            event = new ObstacleRowEvent();
+            event.begin();
+        }
+
         double dPanelWidth = panelWidth; // cast to double
-        final int N = (int) (dPanelWidth / (Player.DEFAULT_WIDTH * 2.0 + 2.0)); // use gameDiff?
+        final int N = partIsObstacle.length;
 
         // Randomly determine the type of each part (obstacle or gap?)
         boolean noGap = true; // Monitors the gap creation (we need at least 1!)
-        boolean[] partIsObstacle = new boolean[N]; // All false by default
         for (int i = 0; i < N; ++i) {
             if (coinflip(obstacleProbability))
                 partIsObstacle[i] = true;
-            else if (noGap)
-                noGap = false;
+            else {
+                partIsObstacle[i] = false;
+                if (noGap) noGap = false;
+            }
         }
 
         // If somehow no gap has been created randomly, we force one into existence:
@@ -54,6 +67,7 @@ public class ObstacleRowFactory extends BaseFactory {
 
         // Create obstacle rectangles based on the coinflips
         int iSuccessiveObs = 0; // Counts successive obstacle parts
+        int numOfObstacles = 0;
         double partWidth = dPanelWidth / N; // The width of each part in pixels
         for(int i = 0; i < N + 1; ++i) {
             if(i < N && partIsObstacle[i]) {
@@ -62,9 +76,16 @@ public class ObstacleRowFactory extends BaseFactory {
             else if (iSuccessiveObs > 0) {
                 double x = (i - iSuccessiveObs) * partWidth; // X-coordinate of the upper left corner of the Obstacle
                 double width = iSuccessiveObs * partWidth; // Width of the Rectangle
-                obstacles.add(new Obstacle(x, -Obstacle.DEFAULT_HEIGHT, width, panelWidth, panelHeight));
+                obstacles.add(x, -Obstacle.DEFAULT_HEIGHT, width, Obstacle.DEFAULT_HEIGHT);
+                ++numOfObstacles;
                 iSuccessiveObs = 0; // Reset to 0
             }
         }
+
+        if (event != null && event.shouldCommit()) {
+            event.obstacles = numOfObstacles;
+            event.obstacleProbability = obstacleProbability;
+            event.commit();
+        }
     }
 }
@@ -6,37 +6,114 @@ import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.Objects;
 
+/**
+ * Loads images from the resources. Loaded and scaled images are kept in a shared
+ * {@link ImageCache}, so requesting the same image again costs nothing, and they
+ * are converted to the screen's format, so Java2D can draw them with its fast loops.
+ * <p>
+ * The returned images are shared, so never draw onto them!
+ */
 public class ResourceHelper {
+    /** Hints for highest possible scaling quality, used by default. */
+    public static final RenderingHints QUALITY_HINTS = new RenderingHints(null);
+    static {
+        QUALITY_HINTS.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        QUALITY_HINTS.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        QUALITY_HINTS.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    }
+
+    private static final ImageCache imageCache = new ImageCache(GameConfig.IMAGE_CACHE_MB * 1024L * 1024L);
+
+    /**
+     * @return the original image as decoded from the resource (cached)
+     */
     public static BufferedImage loadImage(String pathToResource) {
-        try {
-            return ImageIO.read(
-                    Objects.requireNonNull(
-                            ResourceHelper.class.getResource(pathToResource)
-                    )
-            );
-        } catch (NullPointerException | IOException e) {
-            System.err.println("Unable to load file '" + pathToResource + "'!");
-            throw new RuntimeException(e);
-        }
+        return imageCache.get(new ImageCache.Key(pathToResource, 0, 0, null),
+                key -> toCompatibleImage(decodeImage(pathToResource)));
     }
 
+    /**
+     * Scales an image into a new image in the screen's format. Not cached.
+     */
     public static BufferedImage scaleImage(BufferedImage original, int targetWidth, int targetHeight) {
-        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_ARGB);
-
-        Graphics2D g2d = scaled.createGraphics();
+        return scaleImage(original, targetWidth, targetHeight, QUALITY_HINTS);
+    }
 
-        // Settings for highest possible scaling quality
-        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    public static BufferedImage scaleImage(BufferedImage original, int targetWidth, int targetHeight, RenderingHints hints) {
+        BufferedImage scaled = createCompatibleImage(targetWidth, targetHeight, original.getTransparency());
 
+        Graphics2D g2d = scaled.createGraphics();
+        g2d.setRenderingHints(hints);
+        g2d.setComposite(AlphaComposite.Src); // Copy the pixels including their alpha
         g2d.drawImage(original, 0, 0, targetWidth, targetHeight, null);
         g2d.dispose();
 
         return scaled;
     }
 
+    /**
+     * @return the image scaled to the given size with the highest quality (cached)
+     */
     public static BufferedImage loadAndScaleImage(String pathToImage, int targetWidth, int targetHeight) {
-        return scaleImage(loadImage(pathToImage), targetWidth, targetHeight);
+        return loadAndScaleImage(pathToImage, targetWidth, targetHeight, QUALITY_HINTS);
+    }
+
+    /**
+     * @return the image scaled to the given size using the given rendering hints (cached)
+     */
+    public static BufferedImage loadAndScaleImage(String pathToImage, int targetWidth, int targetHeight, RenderingHints hints) {
+        return imageCache.get(new ImageCache.Key(pathToImage, targetWidth, targetHeight, hints),
+                key -> scaleImage(loadImage(pathToImage), targetWidth, targetHeight, hints));
+    }
+
+    /**
+     * @return the cache of all images loaded by this class, e.g. for its statistics
+     */
+    public static ImageCache getImageCache() {
+        return imageCache;
+    }
+
+    /**
+     * Creates an empty image in the format of the default screen, so drawing it on the
+     * screen needs no conversion. Without a screen, a plain ARGB/RGB image is created.
+     *
+     * @param transparency Transparency.OPAQUE, BITMASK or TRANSLUCENT
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB
+                : BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    /**
+     * @return a copy of the image in the format of the default screen
+     */
+    public static BufferedImage toCompatibleImage(BufferedImage image) {
+        BufferedImage compatible = createCompatibleImage(image.getWidth(), image.getHeight(), image.getTransparency());
+        if (compatible.getColorModel().equals(image.getColorModel())) return image; // Already compatible
+
+        Graphics2D g2d = compatible.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return compatible;
+    }
+
+    private static BufferedImage decodeImage(String pathToResource) {
+        try {
+            return ImageIO.read(
+                    Objects.requireNonNull(
+                            ResourceHelper.class.getResource(pathToResource)
+                    )
+            );
+        } catch (NullPointerException | IOException e) {
+            System.err.println("Unable to load file '" + pathToResource + "'!");
+            throw new RuntimeException(e);
+        }
     }
 }
@@ -0,0 +1,81 @@
+package game.util;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * A sprite that is pre-rendered at evenly spaced rotation angles, so drawing it rotated
+ * is a plain, untransformed drawImage() of the closest frame instead of a transformed
+ * one (which is among the slowest operations in Java2D, especially without acceleration).
+ * <p>
+ * Every frame is a square large enough to hold the rotated sprite, with the sprite's
+ * center in the middle. Use a small angle step for smooth rotation animations.
+ */
+public class RotatedSprite {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final BufferedImage[] frames;
+    private final double minDegrees;
+    private final double stepDegrees;
+    private final int offsetX, offsetY; // Position of the unrotated sprite within a frame
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    /**
+     * Pre-renders the rotations from -maxDegrees to +maxDegrees (clockwise) in steps of stepDegrees.
+     * The angle 0 is always included.
+     *
+     * @param image the unrotated sprite
+     * @param maxDegrees largest rotation in either direction
+     * @param stepDegrees difference between the angles of two neighbouring frames
+     */
+    public RotatedSprite(BufferedImage image, double maxDegrees, double stepDegrees) {
+        if (stepDegrees <= 0.0) throw new IllegalArgumentException("Step must be positive: " + stepDegrees);
+
+        int steps = (int) Math.ceil(Math.abs(maxDegrees) / stepDegrees - 1e-9);
+        this.minDegrees = -steps * stepDegrees;
+        this.stepDegrees = stepDegrees;
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int frameSize = (int) Math.ceil(Math.sqrt((double) width * width + (double) height * height));
+        this.offsetX = (frameSize - width) / 2;
+        this.offsetY = (frameSize - height) / 2;
+
+        frames = new BufferedImage[2 * steps + 1];
+        for (int i = 0; i < frames.length; ++i) {
+            frames[i] = renderFrame(image, frameSize, Math.toRadians(minDegrees + i * stepDegrees));
+        }
+    }
+
+    private BufferedImage renderFrame(BufferedImage image, int frameSize, double radians) {
+        BufferedImage frame = ResourceHelper.createCompatibleImage(frameSize, frameSize, Transparency.TRANSLUCENT);
+        Graphics2D g2d = frame.createGraphics();
+        g2d.setRenderingHints(ResourceHelper.QUALITY_HINTS);
+        g2d.rotate(radians, frameSize / 2.0, frameSize / 2.0);
+        g2d.drawImage(image, offsetX, offsetY, null);
+        g2d.dispose();
+        return frame;
+    }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Draws the frame closest to the given rotation, so that the unrotated sprite
+     * would have its upper left corner at (x, y).
+     */
+    public void draw(Graphics2D g2d, int x, int y, double degrees) {
+        g2d.drawImage(getFrame(degrees), x - offsetX, y - offsetY, null);
+    }
+
+    /**
+     * @return the pre-rendered frame whose angle is closest to the given one
+     */
+    public BufferedImage getFrame(double degrees) {
+        int index = (int) Math.round((degrees - minDegrees) / stepDegrees);
+        return frames[Math.max(0, Math.min(index, frames.length - 1))];
+    }
+
+    public int getFrameCount() {
+        return frames.length;
+    }
+}
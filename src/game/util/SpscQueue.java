@@ -0,0 +1,83 @@
+package game.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free queue for exactly one producer thread and one consumer thread.
+ * <p>
+ * Works like the {@link game.input.InputEventQueue}: the producer publishes an element by
+ * advancing {@code tail} after writing its slot, the consumer frees the slot by clearing it
+ * and advancing {@code head}. Neither side ever blocks, {@link #offer(Object)} fails if the
+ * queue is full and {@link #poll()} returns null if it's empty. Nothing is allocated after
+ * construction.
+ *
+ * @param <E> type of the elements
+ */
+public class SpscQueue<E> {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final int mask;
+    private final Object[] elements;
+
+    private final AtomicLong head = new AtomicLong(); // Next slot to read, only advanced by the consumer
+    private final AtomicLong tail = new AtomicLong(); // Next slot to write, only advanced by the producer
+    private long cachedHead = 0; // Producer's last look at head, saves a volatile read per element
+    private long cachedTail = 0; // Consumer's last look at tail
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /**
+     * @param capacity maximum number of elements in the queue, rounded up to a power of two
+     */
+    public SpscQueue(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        mask = size - 1;
+        elements = new Object[size];
+    }
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Appends an element. Must only be called by the producer thread.
+     *
+     * @return false if the queue was full
+     */
+    public boolean offer(E element) {
+        if (element == null) throw new NullPointerException();
+        long t = tail.get();
+        if (t - cachedHead > mask) {
+            cachedHead = head.get();
+            if (t - cachedHead > mask) return false;
+        }
+        elements[(int) t & mask] = element;
+        tail.lazySet(t + 1); // Publishes the slot, the write above can't be reordered after this
+        return true;
+    }
+
+    /**
+     * Removes the oldest element. Must only be called by the consumer thread.
+     *
+     * @return the oldest element, or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head.get();
+        if (h >= cachedTail) {
+            cachedTail = tail.get();
+            if (h >= cachedTail) return null;
+        }
+        int i = (int) h & mask;
+        E element = (E) elements[i];
+        elements[i] = null;
+        head.lazySet(h + 1); // Hands the slot back to the producer
+        return element;
+    }
+
+    /**
+     * @return number of elements in the queue (only a hint while the other thread is active)
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public int capacity() { return mask + 1; }
+}
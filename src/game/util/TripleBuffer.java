@@ -0,0 +1,81 @@
+package game.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands the latest version of some state from one writer thread to one reader thread,
+ * without either of them ever waiting for the other.
+ * <p>
+ * There are three buffers: the writer fills its back buffer and publishes it by swapping
+ * it with the middle buffer, the reader takes the middle buffer by swapping it with its
+ * front buffer, if something new has been published since. Both swaps are a single atomic
+ * operation, so the writer can always publish (dropping versions the reader skipped) and
+ * the reader always gets a complete version, never a half-written one.
+ * <p>
+ * Only a single writer and a single reader thread may use the buffer at the same time.
+ *
+ * @param <T> type of the buffered state
+ */
+public class TripleBuffer<T> {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4; // Set in 'middle' when it holds a version the reader hasn't seen
+
+    private final Object[] buffers = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;  // Only touched by the writer
+    private int front = 2; // Only touched by the reader
+
+    // Statistics, only written by the writer
+    private long published, dropped;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /**
+     * @param factory creates each of the three buffers
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < buffers.length; ++i) buffers[i] = factory.get();
+    }
+
+    /*++++++++++++++++++++++++++ WRITER +++++++++++++++++++++++++++*/
+    /**
+     * @return the buffer the writer fills next. Isn't seen by the reader until {@link #publish()}.
+     */
+    @SuppressWarnings("unchecked")
+    public T getBackBuffer() {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Makes the back buffer the latest version and gives the writer a new back buffer.
+     */
+    public void publish() {
+        int old = middle.getAndSet(back | FRESH);
+        back = old & INDEX_MASK;
+        ++published;
+        if ((old & FRESH) != 0) ++dropped; // The reader never saw the previous version
+    }
+
+    /**
+     * @return number of published versions
+     */
+    public long getPublishedCount() { return published; }
+
+    /**
+     * @return number of published versions that were replaced before the reader took them
+     */
+    public long getDroppedCount() { return dropped; }
+
+    /*++++++++++++++++++++++++++ READER +++++++++++++++++++++++++++*/
+    /**
+     * @return the latest published version. Stays valid and unchanged until the reader calls this again.
+     */
+    @SuppressWarnings("unchecked")
+    public T getLatest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) buffers[front];
+    }
+}
@@ -0,0 +1,66 @@
+package game.world;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import game.input.InputState;
+
+/**
+ * Checks that {@link GameWorld#step(InputState)} doesn't allocate anything once the JIT
+ * has warmed up, so the game never makes garbage while it's running. Games are played
+ * with random input, resets between games are excluded from the count (they create a
+ * new Player view). Exits with status 1 if the allocation budget is
+ * exceeded, so it can run as a check on CI machines.
+ * <p>
+ * Usage: {@code java game.world.AllocationCheck [ticks] [seed] [max bytes per tick]}
+ */
+public class AllocationCheck {
+    private static final int INPUT_HOLD_TICKS = 20;
+    private static final long WARMUP_TICKS = 300_000L;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        long totalTicks = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        double maxBytesPerTick = args.length > 2 ? Double.parseDouble(args[2]) : 0.01;
+
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            System.err.println("This JVM can't count allocated bytes per thread");
+            System.exit(2);
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) bean;
+        long threadId = Thread.currentThread().getId();
+
+        Random inputRng = new Random(seed);
+        InputState input = new InputState();
+        GameWorld world = new GameWorld(800, 600, seed);
+        long games = 0;
+
+        // Let the JIT compile (and escape-analyze) the hot paths first
+        for (long t = 0; t < WARMUP_TICKS; ++t) {
+            if (t % INPUT_HOLD_TICKS == 0) input.setBits(inputRng.nextInt(InputState.ALL + 1));
+            if (!world.step(input)) world.reset(seed + ++games);
+        }
+
+        long resetBytes = 0;
+        long startBytes = allocations.getThreadAllocatedBytes(threadId);
+        for (long t = 0; t < totalTicks; ++t) {
+            if (t % INPUT_HOLD_TICKS == 0) input.setBits(inputRng.nextInt(InputState.ALL + 1));
+            if (!world.step(input)) {
+                long beforeReset = allocations.getThreadAllocatedBytes(threadId);
+                world.reset(seed + ++games);
+                resetBytes += allocations.getThreadAllocatedBytes(threadId) - beforeReset;
+            }
+        }
+        long stepBytes = allocations.getThreadAllocatedBytes(threadId) - startBytes - resetBytes;
+
+        double bytesPerTick = stepBytes / (double) totalTicks;
+        boolean ok = bytesPerTick <= maxBytesPerTick;
+        System.out.printf("%s: step() allocated %d bytes in %d ticks (%.4f bytes/tick, budget %.4f)%n",
+                ok ? "OK" : "FAIL", stepBytes, totalTicks, bytesPerTick, maxBytesPerTick);
+        if (!ok) System.exit(1);
+    }
+}
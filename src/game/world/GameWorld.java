@@ -0,0 +1,254 @@
+package game.world;
+
+import game.ecs.Archetype;
+import game.ecs.EcsSystem;
+import game.ecs.SystemScheduler;
+import game.entities.Coin;
+import game.entities.Obstacle;
+import game.entities.Player;
+import game.input.InputState;
+import game.profiling.FrameProfiler;
+import game.profiling.Phase;
+import game.profiling.TickEvent;
+import game.spawn.Spawner;
+import game.systems.CleanupSystem;
+import game.systems.CoinCollectionSystem;
+import game.systems.CoinSpawnSystem;
+import game.systems.GameState;
+import game.systems.ObstacleCollisionSystem;
+import game.systems.ObstacleSpawnSystem;
+import game.systems.PlayerInputSystem;
+import game.systems.ScoringSystem;
+import game.systems.ScrollSystem;
+import game.systems.SpawnTriggerSystem;
+import game.util.GameConfig;
+import game.util.GameDifficulty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Holds the complete state of a running game and advances it one tick at a time.
+ * This class has no Swing dependencies and doesn't care about wall-clock time,
+ * so it can be driven by the GamePanel as well as by headless tools that run
+ * the simulation as fast as possible.
+ * <p>
+ * The entities live in one {@link Archetype} per kind (Player, Obstacles, Coins) and a tick
+ * is a fixed list of systems (see {@code game.systems}) run by a {@link SystemScheduler}.
+ */
+public class GameWorld {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final int width;
+    private final int height;
+
+    private final Spawner spawner; // Content of new Obstacle rows & Coins
+
+    private final Archetype players = Player.newArchetype();
+    private Player player;
+    // Scrolling entities, sorted by Y coordinate for fast collision checks
+    private final Archetype obstacles = Obstacle.newArchetype();
+    private final Archetype coins = Coin.newArchetype();
+
+    private final GameState state = new GameState();
+    private final SystemScheduler scheduler;
+    private final Phase[] systemPhases; // Phase each system is profiled as, in the order they were added
+
+    private long tick;
+
+    private FrameProfiler profiler; // Optional, times the phases of each tick
+    private static final Phase[] PROFILED_PHASES = {
+            Phase.INPUT, Phase.COLLISION, Phase.MOVEMENT, Phase.SPAWN, Phase.CLEANUP };
+    private final long[] phaseNanos = new long[Phase.values().length];
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    public GameWorld(int width, int height) {
+        this(width, height, GameConfig.PARALLEL_SYSTEMS ? ForkJoinPool.commonPool() : null);
+    }
+
+    /**
+     * @param pool pool that runs independent systems in parallel, or null to run the systems one after another
+     */
+    public GameWorld(int width, int height, ForkJoinPool pool) {
+        this.width = width;
+        this.height = height;
+
+        spawner = new Spawner(width, height);
+
+        scheduler = new SystemScheduler(pool);
+        List<Phase> phases = new ArrayList<>();
+        addSystem(new PlayerInputSystem(players, state, width, height), Phase.INPUT, phases);
+        addSystem(new ObstacleCollisionSystem(players, obstacles, state), Phase.COLLISION, phases);
+        addSystem(new CoinCollectionSystem(players, coins, state), Phase.COLLISION, phases);
+        addSystem(new ScoringSystem(players, state, height), Phase.COLLISION, phases);
+        addSystem(new ScrollSystem(obstacles, state), Phase.MOVEMENT, phases);
+        addSystem(new ScrollSystem(coins, state), Phase.MOVEMENT, phases);
+        addSystem(new SpawnTriggerSystem(obstacles, state, spawner), Phase.SPAWN, phases);
+        addSystem(new ObstacleSpawnSystem(obstacles, state), Phase.SPAWN, phases);
+        addSystem(new CoinSpawnSystem(coins, state), Phase.SPAWN, phases);
+        // Remove descending entities that have already left the world, so we don't run out of RAM
+        addSystem(new CleanupSystem(obstacles, state, height), Phase.CLEANUP, phases);
+        addSystem(new CleanupSystem(coins, state, height), Phase.CLEANUP, phases);
+        systemPhases = phases.toArray(new Phase[0]);
+
+        reset();
+    }
+
+    public GameWorld(int width, int height, long seed) {
+        this(width, height);
+        reset(seed);
+    }
+
+    private void addSystem(EcsSystem system, Phase phase, List<Phase> phases) {
+        scheduler.add(system);
+        phases.add(phase);
+    }
+
+    /**
+     * (Re-)Initializes all game-relevant objects and variables.
+     * The new game gets a seed drawn from the seed of the previous one.
+     */
+    public void reset() {
+        spawner.reset();
+        resetState();
+    }
+
+    private void resetState() {
+        // Spawn player entity in the center of the world (approx)
+        players.clear();
+        player = new Player(players, Player.spawn(players, width / 2.0, height / 2.0));
+
+        obstacles.clear();
+        coins.clear();
+
+        state.reset();
+        tick = 0;
+    }
+
+    /**
+     * (Re-)Initializes the world and seeds the spawns, so the
+     * same seed and the same inputs always lead to the same game.
+     *
+     * @param seed seed for the random number generators
+     */
+    public void reset(long seed) {
+        spawner.reset(seed);
+        resetState();
+    }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++++ SIMULATION ++++++++++++++++++++++++++*/
+    /**
+     * Advances the game state by one tick. Does nothing if the game is already over.
+     *
+     * @param input the player input for this tick
+     * @return true if the game is still running after this tick
+     */
+    public boolean step(InputState input) {
+        if (state.isGameOver()) return false;
+        if (!TickEvent.isRecorded()) return simulateTick(input);
+
+        TickEvent event = new TickEvent();
+        event.begin();
+        boolean running = simulateTick(input);
+        if (event.shouldCommit()) {
+            event.tick = tick;
+            event.score = state.getScore();
+            event.entityCount = obstacles.liveCount() + coins.liveCount();
+            event.gameOver = state.isGameOver();
+            event.commit();
+        }
+        return running;
+    }
+
+    private boolean simulateTick(InputState input) {
+        ++tick;
+        state.beginTick(input);
+        scheduler.run();
+        if (profiler != null) recordPhases();
+        return !state.isGameOver();
+    }
+
+    /**
+     * Adds up the run times of the systems of the last tick per phase and records them in the profiler.
+     */
+    private void recordPhases() {
+        Arrays.fill(phaseNanos, 0L);
+        for (int i = 0; i < systemPhases.length; ++i) {
+            phaseNanos[systemPhases[i].ordinal()] += scheduler.getLastNanos(i);
+        }
+        for (Phase phase : PROFILED_PHASES) profiler.record(phase, phaseNanos[phase.ordinal()]);
+    }
+    /*-------------------------- SIMULATION --------------------------*/
+
+    /*++++++++++++++++++++++++++ ACCESSORS +++++++++++++++++++++++++++*/
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    public Player getPlayer() { return player; }
+
+    public Archetype getPlayers() { return players; }
+
+    /**
+     * @return the Obstacles, sorted by descending Y coordinate
+     */
+    public Archetype getObstacles() { return obstacles; }
+
+    /**
+     * @return the Coins, sorted by descending Y coordinate
+     */
+    public Archetype getCoins() { return coins; }
+
+    /**
+     * @return the scheduler that runs the systems of a tick, e.g. for their timings
+     */
+    public SystemScheduler getScheduler() { return scheduler; }
+
+    public int getScore() { return state.getScore(); }
+
+    public GameDifficulty getGameDifficulty() { return state.getGameDifficulty(); }
+
+    /**
+     * @return the number of ticks simulated since the last reset
+     */
+    public long getTick() { return tick; }
+
+    public boolean isGameOver() { return state.isGameOver(); }
+
+    /**
+     * @return the number of ticks in which the Player touched an Obstacle since the last reset
+     */
+    public int getObstacleHits() { return state.getObstacleHits(); }
+
+    /**
+     * @return the number of Coins collected since the last reset
+     */
+    public int getCoinsCollected() { return state.getCoinsCollected(); }
+
+    /**
+     * @return the distance in pixels that Coins & Obstacles moved down during the last tick
+     */
+    public double getLastScrollDelta() { return state.getLastScrollDelta(); }
+
+    /**
+     * @return the source of new Obstacle rows & Coins
+     */
+    public Spawner getSpawner() { return spawner; }
+
+    /**
+     * Generates new Obstacle rows & Coins on a background thread before they are needed.
+     * Doesn't change the game, the same seed and inputs still lead to the same game.
+     */
+    public void setSpawnPrefetching(boolean prefetching) { spawner.setPrefetching(prefetching); }
+
+    /**
+     * @param profiler profiler that receives the duration of each simulation phase, or null to disable profiling
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+        scheduler.setTimingEnabled(profiler != null);
+    }
+}
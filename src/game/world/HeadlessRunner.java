@@ -0,0 +1,71 @@
+package game.world;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import game.input.InputState;
+
+/**
+ * Runs the simulation without any display and without throttling, e.g. on CI machines.
+ * Games are played back to back with random input until the requested number of
+ * ticks has been simulated, then the achieved tick rate is printed.
+ * <p>
+ * Usage: {@code java -Djava.awt.headless=true game.world.HeadlessRunner [ticks] [seed]}
+ */
+public class HeadlessRunner {
+    /** Number of ticks the random input is held before it changes. */
+    private static final int INPUT_HOLD_TICKS = 20;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        long totalTicks = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+
+        Random inputRng = new Random(seed);
+        InputState input = new InputState();
+        GameWorld world = new GameWorld(800, 600, seed);
+
+        long games = 1;
+        long scoreSum = 0;
+        long resetBytes = 0; // Allocations of world.reset(), not part of steady-state play
+        long startBytes = allocatedBytes();
+        long startTime = System.nanoTime();
+
+        for (long t = 0; t < totalTicks; ++t) {
+            if (t % INPUT_HOLD_TICKS == 0)
+                input.setBits(inputRng.nextInt(InputState.ALL + 1));
+
+            if (!world.step(input)) {
+                scoreSum += world.getScore();
+                long beforeReset = allocatedBytes();
+                world.reset(seed + games);
+                resetBytes += allocatedBytes() - beforeReset;
+                ++games;
+            }
+        }
+
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        long stepBytes = allocatedBytes() - startBytes - resetBytes;
+        System.out.printf("Simulated %d ticks in %.3f s (%.0f ticks/s)%n", totalTicks, seconds, totalTicks / seconds);
+        System.out.printf("Finished games: %d, average final score: %.1f%n",
+                games - 1, games > 1 ? scoreSum / (double)(games - 1) : 0.0);
+        if (startBytes >= 0) {
+            System.out.printf("Allocated during step(): %d bytes (%.3f bytes/tick)%n",
+                    stepBytes, stepBytes / (double) totalTicks);
+        }
+        System.out.println(world.getObstacles());
+        System.out.println(world.getCoins());
+    }
+
+    /**
+     * @return bytes allocated by the current thread so far, or -1 if the JVM can't tell
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
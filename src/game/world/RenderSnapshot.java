@@ -0,0 +1,195 @@
+package game.world;
+
+import game.ecs.Archetype;
+import game.entities.Player;
+
+/**
+ * Everything the renderer needs to draw one frame, copied out of a {@link GameWorld}
+ * into plain arrays. The game thread fills a snapshot after simulating and hands it
+ * over (see {@link game.util.TripleBuffer}), so drawing never reads the world while
+ * it is being changed.
+ * <p>
+ * Snapshots are reused: {@link #capture(GameWorld, double)} overwrites all contents
+ * and only allocates if there are more entities than ever before.
+ */
+public class RenderSnapshot {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    public static final byte TYPE_OBSTACLE = 1;
+    public static final byte TYPE_COIN = 2;
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    // Scrolling entities that haven't been removed: all Obstacles, then all Coins, each oldest first
+    private int entityCount = 0;
+    private byte[] types = new byte[DEFAULT_CAPACITY];
+    private double[] xs = new double[DEFAULT_CAPACITY];
+    private double[] ys = new double[DEFAULT_CAPACITY];
+    private double[] widths = new double[DEFAULT_CAPACITY];
+    private double[] heights = new double[DEFAULT_CAPACITY];
+
+    private boolean hasPlayer = false;
+    private double playerX, playerY;
+    private double playerPrevX, playerPrevY;
+    private double playerRotation;
+    private boolean playerHit;
+
+    private int score;
+    private long tick;
+    private double lastScrollDelta;
+    private double alpha = 1.0;
+
+    // Shown by the FPS display, not part of the world
+    private long fps;
+    private long frameTimeP99;
+
+    // Number of input events the ticks up to this snapshot consumed, for measuring input latency
+    private long appliedInputs;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /**
+     * Copies the current state of the world.
+     *
+     * @param world the world to copy
+     * @param alpha interpolation factor the frame is drawn with, 0.0 for the previous tick and 1.0 for the latest tick
+     */
+    public void capture(GameWorld world, double alpha) {
+        Archetype obstacles = world.getObstacles();
+        Archetype coins = world.getCoins();
+        ensureCapacity(obstacles.size() + coins.size());
+        int n = copyEntities(obstacles, TYPE_OBSTACLE, 0);
+        n = copyEntities(coins, TYPE_COIN, n);
+        entityCount = n;
+
+        Player player = world.getPlayer();
+        hasPlayer = player != null;
+        if (hasPlayer) {
+            playerX = player.getX();
+            playerY = player.getY();
+            playerPrevX = player.getInterpolatedX(0.0);
+            playerPrevY = player.getInterpolatedY(0.0);
+            playerRotation = player.getSpriteRotation();
+            playerHit = player.isHit();
+        }
+
+        score = world.getScore();
+        tick = world.getTick();
+        lastScrollDelta = world.getLastScrollDelta();
+        this.alpha = alpha;
+    }
+
+    /**
+     * Sets the frame statistics shown in the FPS display.
+     *
+     * @param fps approximate frames per second
+     * @param frameTimeP99 99th percentile of the frame time in nanoseconds
+     */
+    public void setFrameInfo(long fps, long frameTimeP99) {
+        this.fps = fps;
+        this.frameTimeP99 = frameTimeP99;
+    }
+
+    /**
+     * @param appliedInputs number of input events consumed so far, see {@link game.profiling.InputLatencyTracker}
+     */
+    public void setAppliedInputs(long appliedInputs) {
+        this.appliedInputs = appliedInputs;
+    }
+
+    /**
+     * Copies the entities of the archetype that haven't been removed, starting at the given index.
+     * @return index after the last copied entity
+     */
+    private int copyEntities(Archetype archetype, byte type, int n) {
+        for (int i = 0; i < archetype.size(); ++i) {
+            if (archetype.isRemoved(i)) continue;
+            types[n] = type;
+            xs[n] = archetype.getX(i);
+            ys[n] = archetype.getY(i);
+            widths[n] = archetype.getWidth(i);
+            heights[n] = archetype.getHeight(i);
+            ++n;
+        }
+        return n;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) return;
+        int newCapacity = Math.max(capacity, types.length * 2);
+        types = new byte[newCapacity];
+        xs = new double[newCapacity];
+        ys = new double[newCapacity];
+        widths = new double[newCapacity];
+        heights = new double[newCapacity];
+    }
+
+    /*++++++++++++++++++++++++++ ACCESSORS +++++++++++++++++++++++++++*/
+    /**
+     * @return number of entities in the snapshot, removed entities aren't included
+     */
+    public int getEntityCount() { return entityCount; }
+
+    /**
+     * @return {@link #TYPE_OBSTACLE} or {@link #TYPE_COIN}
+     */
+    public byte getType(int index) { return types[index]; }
+
+    public double getX(int index) { return xs[index]; }
+
+    public double getY(int index) { return ys[index]; }
+
+    public double getWidth(int index) { return widths[index]; }
+
+    public double getHeight(int index) { return heights[index]; }
+
+    /**
+     * @return false if nothing has been captured yet
+     */
+    public boolean hasPlayer() { return hasPlayer; }
+
+    public double getPlayerX() { return playerX; }
+
+    public double getPlayerY() { return playerY; }
+
+    /**
+     * Interpolates the Player's X coordinate between the previous and the latest tick, using the snapshot's alpha.
+     */
+    public double getInterpolatedPlayerX() { return playerPrevX + (playerX - playerPrevX) * alpha; }
+
+    /**
+     * Interpolates the Player's Y coordinate between the previous and the latest tick, using the snapshot's alpha.
+     */
+    public double getInterpolatedPlayerY() { return playerPrevY + (playerY - playerPrevY) * alpha; }
+
+    /**
+     * @return rotation of the Player's sprite in degrees
+     */
+    public double getPlayerRotation() { return playerRotation; }
+
+    public boolean isPlayerHit() { return playerHit; }
+
+    public int getScore() { return score; }
+
+    public long getTick() { return tick; }
+
+    /**
+     * @return the distance in pixels that Coins & Obstacles moved down during the last tick
+     */
+    public double getLastScrollDelta() { return lastScrollDelta; }
+
+    /**
+     * @return interpolation factor, 0.0 for the previous tick and 1.0 for the latest tick
+     */
+    public double getAlpha() { return alpha; }
+
+    public long getFps() { return fps; }
+
+    /**
+     * @return 99th percentile of the frame time in nanoseconds
+     */
+    public long getFrameTimeP99() { return frameTimeP99; }
+
+    /**
+     * @return number of input events consumed by the ticks up to this snapshot
+     */
+    public long getAppliedInputs() { return appliedInputs; }
+}
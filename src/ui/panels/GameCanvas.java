@@ -0,0 +1,69 @@
+package ui.panels;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+import game.world.RenderSnapshot;
+import ui.render.GameRenderer;
+
+/**
+ * Heavyweight drawing surface for active rendering: The game thread draws
+ * directly into the canvas' BufferStrategy and flips the buffers itself,
+ * instead of asking the EDT to repaint.
+ */
+public class GameCanvas extends Canvas {
+    private static final long serialVersionUID = 1L;
+    private static final int NUM_BUFFERS = 2;
+
+    public GameCanvas(int width, int height) {
+        setPreferredSize(new Dimension(width, height));
+        setIgnoreRepaint(true); // We paint ourselves, ignore paint requests from the OS
+        setFocusable(true);
+    }
+
+    /**
+     * Checks if the back buffers of a BufferStrategy would be hardware accelerated.
+     *
+     * @return false if acceleration isn't available or unknown (e.g. not displayable yet)
+     */
+    public boolean isAccelerationAvailable() {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        return gc != null && gc.getBufferCapabilities().getBackBufferCapabilities().isAccelerated();
+    }
+
+    /**
+     * Renders one frame into the back buffer and shows it. If the contents of the
+     * buffers get lost while drawing (e.g. after a display mode change), the frame is redrawn.
+     *
+     * @param renderer the renderer that draws the frame
+     * @param snapshot the world state to draw
+     * @return false if nothing was rendered, because the canvas isn't displayable
+     */
+    public boolean renderFrame(GameRenderer renderer, RenderSnapshot snapshot) {
+        if (!isDisplayable()) return false;
+
+        BufferStrategy bufferStrategy = getBufferStrategy();
+        if (bufferStrategy == null) {
+            createBufferStrategy(NUM_BUFFERS);
+            bufferStrategy = getBufferStrategy();
+        }
+
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) bufferStrategy.getDrawGraphics();
+                try {
+                    renderer.render(g2d, snapshot);
+                } finally {
+                    g2d.dispose();
+                }
+                // Buffers were restored while drawing -> their contents are undefined, draw again
+            } while (bufferStrategy.contentsRestored());
+
+            bufferStrategy.show();
+            // Buffers were lost while showing -> start over
+        } while (bufferStrategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync(); // Flush the graphics pipeline (matters on Linux/X11)
+        return true;
+    }
+}
@@ -3,12 +3,22 @@ package ui.panels;
 import javax.swing.*;
 import java.awt.*;
 
+import game.loop.LoopMode;
+import game.util.GameConfig;
+
 public class GameContainer extends JLayeredPane {
 
     private final GamePanel gamePanel;
     private final GameOverOverlay gameOverOverlay;
 
     public GameContainer(int width, int height) {
+        this(width, height, GameConfig.LOOP_MODE);
+    }
+
+    /**
+     * @param loopMode the game loop the GamePanel uses instead of the configured one
+     */
+    public GameContainer(int width, int height, LoopMode loopMode) {
         setPreferredSize(new Dimension(width, height));
         setLayout(null);
 
@@ -16,19 +26,36 @@ public class GameContainer extends JLayeredPane {
         gameOverOverlay.setBounds(0, 0, width, height);
         add(gameOverOverlay, Integer.valueOf(2));
 
-        gamePanel = new GamePanel(width, height, this);
+        gamePanel = new GamePanel(width, height, this, loopMode);
         gamePanel.setBounds(0, 0, width, height);
         add(gamePanel, Integer.valueOf(0));
 
+        // Optional Canvas for active rendering, placed on top of the GamePanel
+        GameCanvas gameCanvas = gamePanel.getCanvas();
+        if (gameCanvas != null) {
+            gameCanvas.setBounds(0, 0, width, height);
+            add(gameCanvas, Integer.valueOf(1));
+        }
+
         gameOverOverlay.setVisible(false);
     }
 
     public void startNewGame() {
-        gameOverOverlay.setVisible(false);
+        showGameOver(false);
         gamePanel.startNewGame();
     }
 
     public void showGameOver(boolean visible) {
+        // The heavyweight Canvas would cover the lightweight overlay, so hide it while the overlay
+        // is shown. The GamePanel below then paints the last frame passively.
+        GameCanvas gameCanvas = gamePanel.getCanvas();
+        if (gameCanvas != null && (visible || gamePanel.isUsingCanvas())) {
+            gameCanvas.setVisible(!visible);
+        }
         gameOverOverlay.setVisible(visible);
     }
+
+    public GamePanel getGamePanel() {
+        return gamePanel;
+    }
 }
@@ -1,23 +1,46 @@
 package ui.panels;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.util.LinkedList;
+import java.awt.image.VolatileImage;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Date;
+import java.util.Random;
 
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
-import game.entities.BaseEntity;
-import game.entities.Coin;
-import game.entities.Obstacle;
-import game.entities.Player;
+import game.input.InputEventQueue;
+import game.input.InputFrame;
+import game.input.InputState;
 import game.input.KeyboardInput;
-import game.util.CoinFactory;
-import game.util.GameDifficulty;
-import game.util.ObstacleRowFactory;
+import game.input.MouseInput;
+import game.loop.FramePacer;
+import game.loop.FrameTimeStats;
+import game.loop.LoopMode;
+import game.profiling.FrameProfiler;
+import game.profiling.InputLatencyTracker;
+import game.profiling.PaintEvent;
+import game.profiling.Phase;
+import game.replay.InputRecorder;
+import game.replay.InputRecording;
+import game.util.GameConfig;
 import game.util.ResourceHelper;
+import game.util.TripleBuffer;
+import game.world.GameWorld;
+import game.world.RenderSnapshot;
+import ui.render.GameRenderer;
+import ui.render.RenderMode;
+import ui.render.ResolutionScaler;
 
 /**
  * This is a subclass of JPanel that displays and runs the game.
+ * The game state itself lives in a {@link GameWorld}; this panel only
+ * drives it from the game loop, feeds it the keyboard input and draws it.
  */
 public class GamePanel extends JPanel implements Runnable {
     /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
@@ -29,31 +52,76 @@ public class GamePanel extends JPanel implements Runnable {
     private final int panelWidth;
     private final int panelHeight;
 
-    private final KeyboardInput keyboard = new KeyboardInput();
+    // The listeners push input events from the EDT, the game thread drains them once per tick
+    private final InputEventQueue inputEvents = new InputEventQueue();
+    private final KeyboardInput keyboard = new KeyboardInput(inputEvents);
+    private final MouseInput mouse = new MouseInput(inputEvents);
+    private final InputFrame inputFrame = new InputFrame(); // Only used by the game thread
+    private final InputState input = new InputState();
+    private final InputLatencyTracker inputLatency = new InputLatencyTracker();
 
-    private final BufferedImage imgBackground;
-    private double backgroundScrollPos;
+    private final GameWorld world;
+    private final GameRenderer renderer;
 
-    private Player player;
-    private int playerScore;
-    private GameDifficulty gameDifficulty;
+    // The game thread publishes a copy of the world after every frame. paintComponent() only
+    // draws the latest published copy, so the EDT never reads the world while it changes.
+    private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
 
-    private final ObstacleRowFactory obsRowFactory;
-    private final CoinFactory coinFactory;
+    // Every game gets its own seed, so it can be recorded and replayed exactly
+    private final Random seedRng = new Random();
+    private final InputRecorder recorder = new InputRecorder();
+    private int savedRecordings = 0; // Part of the file names, so games that end in the same millisecond don't collide
 
-    private LinkedList<Obstacle> obstacles;
-    private LinkedList<Coin> coins;
+    // Rendering mode. Active modes fall back to PASSIVE if acceleration is unavailable.
+    private final RenderMode requestedRenderMode = RenderMode.fromString(GameConfig.RENDER_MODE);
+    private volatile RenderMode renderMode = RenderMode.PASSIVE; // Also read by the EDT
+    private final GameCanvas canvas; // Only used in BUFFER_STRATEGY mode, otherwise null
+    private volatile VolatileImage backBuffer; // Only used in VOLATILE_IMAGE mode, the EDT shows it on expose
+
+    // In the active modes the game thread draws all frames while it runs. The renderer keeps state between
+    // frames (HUD caches, background scrolling, ...), so the EDT must not use it during that time.
+    private volatile boolean gameThreadRenders = false;
 
     private Thread gameThread;
-    private boolean gameIsRunning = false;
+    private volatile boolean gameIsRunning = false; // Written by the EDT and the game thread
 
-    private final boolean drawFPS = true;
     private long fps = 0;
+    private long frameTimeP99 = 0; // in nanoseconds
+    private int frameCount = 0;
+    private long lastSecondNanos = 0;
+
+    // Loop settings & frame pacing
+    private final LoopMode loopMode;
+    private final int tickRate = GameConfig.TICK_RATE;
+    private final int frameRate = GameConfig.FRAME_RATE;
+    private final FramePacer framePacer = new FramePacer();
+
+    /** Progress between the last two ticks (0.0 - 1.0), for render interpolation. */
+    private double renderAlpha = 1.0;
+
+    // Frame time statistics over the last few seconds
+    private static final long FRAME_REPORT_INTERVAL_NANOS = 5_000_000_000L;
+    private static final long FRAME_BUDGET_TOLERANCE_NANOS = 1_000_000L;
+    private final FrameTimeStats frameStats;
+    private long lastFrameStartNanos;
+    private long lastReportNanos;
+
+    // Per-phase timings, shown with F3 and written to a CSV file with F4
+    private static final int PROFILER_GRAPH_FRAMES = 300;
+    private final FrameProfiler profiler = new FrameProfiler(PROFILER_GRAPH_FRAMES);
     /*------------------------- ATTRIBUTES -------------------------*/
 
     /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
     public GamePanel(int width, int height, GameContainer gameContainer) {
+        this(width, height, gameContainer, GameConfig.LOOP_MODE);
+    }
+
+    /**
+     * @param loopMode the game loop to use instead of the configured one
+     */
+    public GamePanel(int width, int height, GameContainer gameContainer, LoopMode loopMode) {
         this.gameContainer = gameContainer;
+        this.loopMode = loopMode;
         this.panelWidth = width;
         this.panelHeight = height;
 
@@ -62,31 +130,53 @@ public class GamePanel extends JPanel implements Runnable {
         setDoubleBuffered(true); // Use drawing buffer
         setFocusable(true); // Needed for KeyListener to work
         addKeyListener(this.keyboard); // Add listener for keyboard events
+        addMouseListener(this.mouse);
+        addMouseMotionListener(this.mouse);
+
+        // Init the simulation & its renderer
+        world = new GameWorld(width, height);
+        world.setSpawnPrefetching(GameConfig.PREFETCH_SPAWNS);
+        renderer = new GameRenderer(width, height);
+
+        if (requestedRenderMode == RenderMode.BUFFER_STRATEGY) {
+            canvas = new GameCanvas(width, height);
+            canvas.addKeyListener(this.keyboard);
+            canvas.addMouseListener(this.mouse);
+            canvas.addMouseMotionListener(this.mouse);
+        } else {
+            canvas = null;
+        }
 
-        // Init Game Entity Factories
-        obsRowFactory = new ObstacleRowFactory(width, height);
-        coinFactory = new CoinFactory(width, height);
-
-        // Init background image (NOTE: assumes a square image!)
-        int size = Math.max(this.panelWidth, this.panelHeight);
-        imgBackground = ResourceHelper.loadAndScaleImage("/images/bg_space1.png", size, size);
+        // A frame is over budget if it takes noticeably longer than the target frame time
+        long frameBudgetNanos = FRAME_BUDGET_TOLERANCE_NANOS + (loopMode == LoopMode.FIXED_TIMESTEP
+                ? 1_000_000_000L / frameRate
+                : DESIRED_FRAMETIME_MILLIS * 1_000_000L);
+        frameStats = new FrameTimeStats(5 * (int) DESIRED_FPS, frameBudgetNanos);
+
+        world.setProfiler(profiler);
+        renderer.setProfiler(profiler, frameBudgetNanos - FRAME_BUDGET_TOLERANCE_NANOS);
+        if (GameConfig.DYNAMIC_RESOLUTION) {
+            long paintBudgetNanos = (frameBudgetNanos - FRAME_BUDGET_TOLERANCE_NANOS) * GameConfig.PAINT_BUDGET_PERCENT / 100;
+            renderer.setResolutionScaler(new ResolutionScaler(paintBudgetNanos));
+        }
+        publishSnapshot();
     }
 
     /**
      * (Re-)Initializes all game-relevant objects and variables.
      */
     private void initGame() {
-        // Spawn player entity in the center of the panel (approx)
-        player = new Player(panelWidth / 2.0, panelHeight / 2.0, panelWidth, panelHeight);
+        long seed = seedRng.nextLong();
+        world.reset(seed);
+        if (GameConfig.RECORD_DIR != null) recorder.start(panelWidth, panelHeight, seed);
+        profiler.reset();
+        publishSnapshot(); // The game thread isn't running yet, so we are the only writer
 
-        // Create empty lists for Coins & Obstacles
-        obstacles = new LinkedList<Obstacle>();
-        coins = new LinkedList<Coin>();
+        // Same for the input queue: Throw away what happened during the game over screen, but keep held keys
+        inputEvents.drainTo(inputFrame);
+        inputFrame.clearEvents();
 
         // Init game vars
-        backgroundScrollPos = 0.0;
-        playerScore = 0;
-        gameDifficulty = new GameDifficulty();
         gameIsRunning = true;
     }
 
@@ -95,6 +185,23 @@ public class GamePanel extends JPanel implements Runnable {
      */
     public void startNewGame() {
         // Shut down the current gameThread, if any
+        stopGame();
+
+        // (Re-)init Game
+        initGame();
+        onEdt(this::prepareRendering);
+
+        if (canvas != null) canvas.requestFocus(); // The canvas covers the panel, so it receives the key events
+
+        // Create & start new game Thread
+        gameThread = new Thread(this);
+        gameThread.start(); // executes run()
+    }
+
+    /**
+     * Stops the game thread, if there is one, and waits until it has finished.
+     */
+    public void stopGame() {
         if(gameThread != null) {
             gameIsRunning = false;
             try {
@@ -103,13 +210,6 @@ public class GamePanel extends JPanel implements Runnable {
                 throw new RuntimeException(e);
             }
         }
-
-        // (Re-)init Game
-        initGame();
-
-        // Create & start new game Thread
-        gameThread = new Thread(this);
-        gameThread.start(); // executes run()
     }
     /*--------------------- CONSTRUCTORS / INIT ----------------------*/
 
@@ -117,12 +217,35 @@ public class GamePanel extends JPanel implements Runnable {
 
     /**
      * Runs the GAME LOOP, ideally in a separate Thread.
+     * Which loop is used depends on the configured {@link LoopMode}.
      */
     @Override
     public void run() {
-        // Variables for FPS Counting. Unused if drawFPS == false
-        long lastSecondTime = System.currentTimeMillis();
-        int frame_count = 0;
+        frameStats.clear();
+        lastFrameStartNanos = 0;
+        lastReportNanos = lastSecondNanos = System.nanoTime();
+        frameCount = 0;
+
+        try {
+            if (loopMode == LoopMode.FIXED_TIMESTEP)
+                runFixedTimestepLoop();
+            else
+                runVariableLoop();
+        } finally {
+            if (gameThreadRenders) {
+                // Hand the renderer back to the EDT, which paints the last frame from now on (e.g. below the game over overlay)
+                gameThreadRenders = false;
+                repaint();
+            }
+        }
+    }
+
+    /**
+     * The classic loop: one update per frame, then sleep for the rest of the frame time.
+     * Game speed depends on the achieved frame rate.
+     */
+    private void runVariableLoop() {
+        renderAlpha = 1.0; // No interpolation, always draw the latest tick
 
         while (gameThread != null && gameIsRunning) {
             // While the game grows more complex, execution of update() and repaint()
@@ -130,83 +253,192 @@ public class GamePanel extends JPanel implements Runnable {
             // To offset this delay for the sleep time per frame, we measure the
             // execution time and subtract it from the desired frame time.
             long lastFrameTime = System.currentTimeMillis();
+            recordFrameStart(System.nanoTime());
 
             // STEP 1: Update game information
             update();
 
             // STEP 2: Draw updated game information on the screen
-            repaint(); // Calls the paintComponent(...) method defined below
+            presentFrame();
 
             long currentFrameTime = System.currentTimeMillis();
 
-            // Optional: Count & update FPS
-            if (drawFPS) {
-                frame_count++;
-                double millisecsElapsed = currentFrameTime - lastSecondTime;
-                if (millisecsElapsed > 999) {
-                    // At least 1 sec passed -> update approx. FPS
-                    this.fps = Math.round(frame_count / (millisecsElapsed / 1000.0));
-                    // (Re)Set variables for the next second
-                    lastSecondTime = currentFrameTime;
-                    frame_count = 0;
-                }
-            }
-
             // STEP 3: Wait a bit for the CPU to cool down :)
             long frametime = currentFrameTime - lastFrameTime;
             long sleeptime = DESIRED_FRAMETIME_MILLIS - frametime;
             if (sleeptime < 1) sleeptime = 1;
+            long sleepStart = System.nanoTime();
             try {
                 Thread.sleep(sleeptime);
             } catch (InterruptedException e) {
                 e.printStackTrace();
             }
+            profiler.record(Phase.SLEEP, System.nanoTime() - sleepStart);
         }
-
     }
 
     /**
-     * Updates the game state. Should be called once every frame
-     * from within the game loop.
+     * Fixed timestep loop: The simulation advances in ticks of constant length, independent
+     * of the frame rate. Elapsed real time is collected in an accumulator and consumed in
+     * whole ticks; the leftover fraction of a tick is used to interpolate entity positions
+     * when rendering. If the machine can't keep up, at most MAX_CATCH_UP_TICKS ticks are
+     * simulated per frame and the remaining time is dropped (the game slows down instead
+     * of freezing in a "spiral of death").
      */
-    public void update() {
-        player.handleKeyboardInput(keyboard);
+    private void runFixedTimestepLoop() {
+        final long tickNanos = 1_000_000_000L / tickRate;
+        final long frameNanos = 1_000_000_000L / frameRate;
+        final int maxCatchUpTicks = GameConfig.MAX_CATCH_UP_TICKS;
+
+        long previousTime = System.nanoTime();
+        long accumulator = 0;
+        long nextFrameDeadline = previousTime;
+
+        while (gameThread != null && gameIsRunning) {
+            long now = System.nanoTime();
+            recordFrameStart(now);
+            accumulator += now - previousTime;
+            previousTime = now;
+
+            // STEP 1: Consume the elapsed time in fixed ticks (bounded catch-up)
+            int ticks = 0;
+            while (accumulator >= tickNanos && ticks < maxCatchUpTicks && gameIsRunning) {
+                update();
+                accumulator -= tickNanos;
+                ++ticks;
+            }
+            if (accumulator >= tickNanos) {
+                // Still behind after the catch-up limit: drop the remaining backlog
+                accumulator %= tickNanos;
+            }
+
+            // STEP 2: Draw the state between the last two ticks
+            renderAlpha = (double) accumulator / tickNanos;
+            presentFrame();
+
+            // STEP 3: Park until the next frame is due
+            nextFrameDeadline += frameNanos;
+            if (nextFrameDeadline - System.nanoTime() < -frameNanos) {
+                // We're more than a frame late, don't try to make up for missed frames
+                nextFrameDeadline = System.nanoTime() + frameNanos;
+            }
+            long sleepStart = System.nanoTime();
+            framePacer.waitUntil(nextFrameDeadline);
+            profiler.record(Phase.SLEEP, System.nanoTime() - sleepStart);
+        }
+    }
 
-        // Obstacle collision
-        int oldScore = playerScore;
-        if(player.isHitByObstacle(obstacles)) {
-            playerScore -= 10; // Punish player
+    /**
+     * Records the time between two frame starts, updates the FPS counter and
+     * reports the frame time percentiles, if enabled.
+     *
+     * @param now the current System.nanoTime()
+     */
+    private void recordFrameStart(long now) {
+        if (lastFrameStartNanos != 0) {
+            frameStats.record(now - lastFrameStartNanos);
+            profiler.recordFrame(now - lastFrameStartNanos);
         }
-        // Coin collision
-        if(player.isHitByCoin(coins)) {
-            playerScore += 100; // Reward player
+        lastFrameStartNanos = now;
+
+        // Debug keys
+        if (keyboard.profilerDumpRequested) {
+            keyboard.profilerDumpRequested = false;
+            dumpProfiler();
         }
 
-        if(gameIsOver()) {
-            this.gameIsRunning = false;
-            gameContainer.showGameOver(true);
-            return;
+        // Count & update FPS
+        ++frameCount;
+        long nanosElapsed = now - lastSecondNanos;
+        if (nanosElapsed >= 1_000_000_000L) {
+            // At least 1 sec passed -> update approx. FPS
+            this.fps = Math.round(frameCount / (nanosElapsed / 1e9));
+            this.frameTimeP99 = frameStats.percentile(0.99);
+            lastSecondNanos = now;
+            frameCount = 0;
         }
 
-        // Adjust game difficulty based on Score
-        if(playerScore != oldScore) {
-            gameDifficulty.setDifficultyFromScore(playerScore);
+        if (GameConfig.REPORT_FRAME_TIMES && now - lastReportNanos >= FRAME_REPORT_INTERVAL_NANOS) {
+            System.out.println("[" + loopMode + "/" + renderMode + "] " + frameStats.summary());
+            System.out.println("    " + world.getObstacles() + "; " + world.getCoins());
+            System.out.println("    " + world.getSpawner());
+            System.out.println("    " + ResourceHelper.getImageCache());
+            if (inputEvents.getDroppedEvents() > 0)
+                System.out.println("    Dropped input events: " + inputEvents.getDroppedEvents());
+            if (GameConfig.DYNAMIC_RESOLUTION)
+                System.out.printf("    Render scale: %.0f%%%n", renderer.getRenderScale() * 100);
+            System.out.println("    Input latency: " + inputLatency.summary());
+            lastReportNanos = now;
         }
+    }
+
+    /**
+     * Writes a copy of the profiler's histograms to a CSV file in the working directory.
+     * Writing happens in a separate thread, so it doesn't cause a hitch itself.
+     */
+    private void dumpProfiler() {
+        final FrameProfiler snapshot = new FrameProfiler(profiler);
+        final String fileName = "profile-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".csv";
+        Thread writer = new Thread(() -> {
+            try (Writer out = new FileWriter(fileName)) {
+                snapshot.writeCsv(out);
+                System.out.println("Profiler histograms written to " + fileName);
+            } catch (IOException e) {
+                System.err.println("Could not write " + fileName + ": " + e);
+            }
+        }, "profiler-dump");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Writes the recording of a finished game to the configured directory, in a separate thread.
+     *
+     * @param recording the recording to save, or null if the game wasn't recorded
+     */
+    private void saveRecording(final InputRecording recording) {
+        if (recording == null) return;
+        final File file = new File(GameConfig.RECORD_DIR, "game-"
+                + new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date()) + "-" + (++savedRecordings)
+                + InputRecording.FILE_EXTENSION);
+        Thread writer = new Thread(() -> {
+            try {
+                File dir = file.getParentFile();
+                if (dir != null && !dir.isDirectory() && !dir.mkdirs())
+                    throw new IOException("Can't create directory " + dir);
+                recording.write(file);
+                System.out.println("Game recorded to " + file + " (score " + recording.getFinalScore() + ")");
+            } catch (IOException e) {
+                System.err.println("Could not write " + file + ": " + e);
+            }
+        }, "recording-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Updates the game state. Should be called once every frame
+     * from within the game loop. Drains the input events that arrived since the last tick.
+     */
+    public void update() {
+        inputEvents.drainTo(inputFrame);
+        inputFrame.writeTo(input);
+        recorder.record(input);
 
-        // Move Coins & Obstacles down the panel
-        for (Obstacle obs : obstacles) { obs.moveDown(gameDifficulty.getEntitySpeed()); }
-        for (Coin c: coins) { c.moveDown(gameDifficulty.getEntitySpeed()); }
+        boolean running = world.step(input);
 
-        // Create new Obstacles & Coins, if needed
-        double obsDistance = gameDifficulty.getObstacleDistance();
-        if (obstacles.isEmpty() || obstacles.peekLast().getY() > obsDistance) {
-            obsRowFactory.createObstacleRow(gameDifficulty.getObstacleProbability(), obstacles);
-            coinFactory.createCoinsInArea((int)obsDistance, gameDifficulty.getMinCoins(), coins);
+        // Tag the key events of this tick, the next finished frame shows their result
+        for (int i = 0; i < inputFrame.getEventCount(); ++i) {
+            int type = inputFrame.getType(i);
+            if (type == InputEventQueue.KEY_PRESSED || type == InputEventQueue.KEY_RELEASED)
+                inputLatency.inputApplied(inputFrame.getTimestamp(i));
         }
 
-        // Remove descending entities that have already left the panel, so we don't run out of RAM
-        clearEntityList(obstacles);
-        clearEntityList(coins);
+        if(!running) {
+            this.gameIsRunning = false;
+            saveRecording(recorder.finish(world.getScore()));
+            gameContainer.showGameOver(true);
+        }
     }
 
     /**
@@ -219,87 +451,254 @@ public class GamePanel extends JPanel implements Runnable {
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
 
+        if (gameThreadRenders) {
+            // The renderer belongs to the game thread, just show its last frame (nothing in BUFFER_STRATEGY mode,
+            // where the Canvas covers the panel anyway). The game thread draws the next one shortly.
+            VolatileImage lastFrame = backBuffer;
+            if (lastFrame != null && !lastFrame.contentsLost()) g.drawImage(lastFrame, 0, 0, null);
+            return;
+        }
+
         // Graphics2D will be our "pencil" for drawing stuff on the panel
         Graphics2D g2d = (Graphics2D) g.create();
 
-        drawBackground(g2d);
-
-        // Draw coins & obstacles
-        for (Obstacle o : obstacles) { o.draw(g2d); }
-        for(Coin c: coins) { c.draw(g2d); }
-
-        // Draw Player & Score
-        player.draw(g2d);
-        printScoreOnPanel(g2d);
-
-        if (drawFPS) printFPSOnPanel(g2d);
+        if (!PaintEvent.isRecorded()) {
+            paintSnapshot(g2d);
+        } else {
+            PaintEvent event = new PaintEvent();
+            event.begin();
+            commitPaintEvent(event, paintSnapshot(g2d));
+        }
 
         // Free resources
         g2d.dispose();
     }
 
-    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
     /**
-     * Defines/Checks losing conditions and returns result.
+     * Draws the latest published snapshot on the EDT.
      *
-     * @return boolean, if the current game is lost or not
+     * @return the snapshot that was drawn
      */
-    private boolean gameIsOver() {
-        return this.playerScore < 0 || player.getY() > this.panelHeight;
+    private RenderSnapshot paintSnapshot(Graphics2D g2d) {
+        long paintStart = System.nanoTime();
+        RenderSnapshot snapshot = snapshots.getLatest();
+        renderer.setDrawProfiler(keyboard.showProfiler);
+        renderer.render(g2d, snapshot);
+        long paintEnd = System.nanoTime();
+        profiler.record(Phase.PAINT, paintEnd - paintStart);
+        if (renderMode == RenderMode.PASSIVE) inputLatency.frameShown(snapshot.getAppliedInputs(), paintEnd);
+        return snapshot;
     }
 
+    /*+++++++++++++++++++++++++++ RENDERING +++++++++++++++++++++++++++++*/
     /**
-     * Removes descending BaseEntities from the specified List that have
-     * left the GamePanel through its bottom.
+     * Gets the current frame onto the screen, either by drawing it actively from
+     * the game thread or by asking Swing to repaint the panel.
+     */
+    private void presentFrame() {
+        if (!PaintEvent.isRecorded()) {
+            drawFrame();
+            return;
+        }
+
+        PaintEvent event = new PaintEvent();
+        event.begin();
+        RenderSnapshot presented = drawFrame();
+        if (presented != null) commitPaintEvent(event, presented);
+    }
+
+    /**
+     * Captures & publishes the current frame and draws it actively, if the render mode allows it.
      *
-     * @param entities List of BaseEntities with LIFO-Queue ordering
+     * @return the snapshot that was drawn, or null if the frame is left to paintComponent()
      */
-    private <T extends Shape> void clearEntityList(LinkedList<? extends BaseEntity<T>> entities) {
-        while (!(entities.isEmpty()) && entities.peekFirst().getY() > this.panelHeight) {
-            entities.removeFirst();
+    private RenderSnapshot drawFrame() {
+        boolean presented = false;
+        long paintStart = System.nanoTime();
+        RenderSnapshot snapshot = captureSnapshot();
+        if (gameThreadRenders) renderer.setDrawProfiler(keyboard.showProfiler);
+        if (renderMode == RenderMode.BUFFER_STRATEGY) {
+            presented = canvas.renderFrame(renderer, snapshot);
+        } else if (renderMode == RenderMode.VOLATILE_IMAGE) {
+            presented = renderToVolatileImage(snapshot);
         }
+        // In PASSIVE mode, paintComponent() records the paint on the EDT instead
+        if (presented) {
+            long paintEnd = System.nanoTime();
+            profiler.record(Phase.PAINT, paintEnd - paintStart);
+            inputLatency.frameShown(snapshot.getAppliedInputs(), paintEnd);
+        }
+        snapshots.publish(); // Also needed in active modes, the EDT paints the panel again after the game
+
+        if (!presented)
+            repaint(); // Calls the paintComponent(...) method defined above
+        return presented ? snapshot : null;
     }
 
     /**
-     * Draws an approximate FPS value in the upper left corner of the game panel.
+     * Copies the current world state into the snapshot buffer and publishes it for paintComponent().
+     * Must only be called by the thread that runs the simulation (or while no game thread is running).
+     */
+    public void publishSnapshot() {
+        captureSnapshot();
+        snapshots.publish();
+    }
+
+    /**
+     * Copies the current world state into the writer's snapshot, without publishing it.
+     */
+    private RenderSnapshot captureSnapshot() {
+        RenderSnapshot snapshot = snapshots.getBackBuffer();
+        snapshot.capture(world, renderAlpha);
+        snapshot.setFrameInfo(fps, frameTimeP99);
+        snapshot.setAppliedInputs(inputLatency.getAppliedInputs());
+        return snapshot;
+    }
+
+    private void commitPaintEvent(PaintEvent event, RenderSnapshot snapshot) {
+        if (event.shouldCommit()) {
+            event.renderMode = renderMode.name();
+            event.entityCount = snapshot.getEntityCount();
+            event.renderScale = renderer.getRenderScale();
+            event.commit();
+        }
+    }
+
+    /**
+     * Draws the frame into an accelerated VolatileImage and copies it onto the panel.
+     * The image is recreated if it became incompatible with the screen, and the frame
+     * is drawn again if the image's contents got lost in the meantime.
      *
-     * @param g2d The Graphics2D object of the game panel
+     * @param snapshot the world state to draw
+     * @return false if the panel isn't showing and nothing was drawn
      */
-    private void printFPSOnPanel(Graphics2D g2d) {
-        g2d.setColor(Color.gray);
-        g2d.setFont(new Font("Arial", Font.BOLD, 12));
-        g2d.drawString(this.fps + " FPS", 0, 12);
+    private boolean renderToVolatileImage(RenderSnapshot snapshot) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null || !isShowing()) return false;
+
+        VolatileImage backBuffer = this.backBuffer;
+        do {
+            if (backBuffer == null || backBuffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (backBuffer != null) backBuffer.flush();
+                backBuffer = gc.createCompatibleVolatileImage(panelWidth, panelHeight);
+                this.backBuffer = backBuffer;
+            }
+
+            Graphics2D g2d = backBuffer.createGraphics();
+            try {
+                renderer.render(g2d, snapshot);
+            } finally {
+                g2d.dispose();
+            }
+
+            Graphics g = getGraphics();
+            if (g == null) return false;
+            try {
+                g.drawImage(backBuffer, 0, 0, null);
+            } finally {
+                g.dispose();
+            }
+        } while (backBuffer.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync(); // Flush the graphics pipeline (matters on Linux/X11)
+        return true;
+    }
+
+    /**
+     * Resolves the render mode for the next game and resets the renderer.
+     * Runs on the EDT, since it shows or hides the Canvas and the EDT may be painting with the renderer.
+     */
+    private void prepareRendering() {
+        resolveRenderMode();
+        renderer.reset();
+        gameThreadRenders = renderMode != RenderMode.PASSIVE; // Set here, so no paint on the EDT overlaps the game thread's
     }
 
-    private void printScoreOnPanel(Graphics2D g2d) {
-        g2d.setColor(player.isHit() ? Color.red : Color.white);
-        g2d.setFont(new Font("Arial", Font.BOLD, 24));
-        g2d.drawString("Score: " + this.playerScore, 2, panelHeight - 12);
+    /**
+     * Decides which render mode is actually used. Active rendering is only worth it
+     * with hardware acceleration, so we fall back to passive rendering without it.
+     */
+    private void resolveRenderMode() {
+        RenderMode mode = requestedRenderMode;
+        if (mode != RenderMode.PASSIVE && GraphicsEnvironment.isHeadless()) {
+            mode = RenderMode.PASSIVE;
+        } else if (mode == RenderMode.BUFFER_STRATEGY && !canvas.isAccelerationAvailable()) {
+            mode = RenderMode.PASSIVE;
+        } else if (mode == RenderMode.VOLATILE_IMAGE && !isVolatileImageAccelerated()) {
+            mode = RenderMode.PASSIVE;
+        }
+
+        if (mode != requestedRenderMode) {
+            System.err.println("Render mode " + requestedRenderMode + " not accelerated, falling back to " + mode);
+        }
+        renderMode = mode;
+        if (canvas != null) canvas.setVisible(isUsingCanvas());
     }
 
     /**
-     * Uses a seamlessly tileable image (think of textures)
-     * that is drawn twice (one below the other) and pushed along
-     * the y-Axis to create a scrolling background on the panel.
-     * @param g2d the Graphics2D object of the panel
+     * Runs the task on the EDT and waits for it, or runs it right away if we already are on the EDT.
      */
-    private void drawBackground(Graphics2D g2d) {
-        // Increment Y-Position of the first image:
-        // Scrolls background down by 1 pixel every 3 frames
-        backgroundScrollPos += 1.0 / 3.0;
-        // Y-Position of the second instance of the same image
-        // that will be drawn above the first
-        double y2 = backgroundScrollPos - imgBackground.getHeight();
-
-        // If the lower image A leaves the panel, switch its position
-        // with upper image B and then put B above that
-        if (backgroundScrollPos >= this.panelHeight) {
-            backgroundScrollPos = y2;
-            y2 = y2 - imgBackground.getHeight();
+    private static void onEdt(Runnable task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            task.run();
+            return;
+        }
+        try {
+            SwingUtilities.invokeAndWait(task);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException(e.getCause());
         }
+    }
+
+    private boolean isVolatileImageAccelerated() {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null) return false;
+        VolatileImage test = gc.createCompatibleVolatileImage(1, 1);
+        try {
+            return test.getCapabilities().isAccelerated();
+        } finally {
+            test.flush();
+        }
+    }
+
+    /**
+     * @return the simulated world shown by this panel
+     */
+    public GameWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * @return the input-to-display latencies of this panel, measured for the key events
+     */
+    public InputLatencyTracker getInputLatency() {
+        return inputLatency;
+    }
+
+    public LoopMode getLoopMode() {
+        return loopMode;
+    }
+
+    /**
+     * @return true while the game thread runs a game, false after game over
+     */
+    public boolean isGameRunning() {
+        return gameIsRunning;
+    }
 
-        // Render image twice at different Y-coordinates
-        g2d.drawImage(imgBackground, 0, (int)Math.round(backgroundScrollPos), this);
-        g2d.drawImage(imgBackground, 0, (int)Math.round(y2), this);
+    /**
+     * @return the Canvas for the BUFFER_STRATEGY render mode, or null if that mode wasn't requested
+     */
+    public GameCanvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * @return true if frames are currently shown on the Canvas instead of this panel
+     */
+    public boolean isUsingCanvas() {
+        return canvas != null && renderMode == RenderMode.BUFFER_STRATEGY;
     }
 }
@@ -0,0 +1,134 @@
+package ui.panels;
+
+import java.awt.Graphics2D;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Random;
+
+import javax.swing.SwingUtilities;
+
+import game.loop.LoopMode;
+import game.profiling.InputLatencyTracker;
+import game.profiling.PhaseHistogram;
+
+/**
+ * Measures the input-to-display latency of every loop mode without a screen: A GamePanel is
+ * run with its real game loop, synthetic KeyEvents are sent to its key listeners on the EDT,
+ * and a simulated display paints the panel into an offscreen image at {@value #DISPLAY_HZ} Hz,
+ * just like Swing would after repaint(). The latencies are taken from the panel's
+ * {@link InputLatencyTracker}. Exits with status 1 if the 99th percentile of any loop mode
+ * exceeds the limit, so it can run as a check on CI machines.
+ * <p>
+ * Usage: {@code java ui.panels.LatencyCheck [seconds per mode] [max p99 in ms] [seed]}
+ */
+public class LatencyCheck {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final int DISPLAY_HZ = 240; // Adds up to ~4ms to the measured latency
+    private static final long WARMUP_MILLIS = 2000;
+
+    // Default key bindings for moving left & right, see game.input.KeyboardInput
+    private static final int[] KEYS = { KeyEvent.VK_A, KeyEvent.VK_D };
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+
+        long measureMillis = (long) ((args.length > 0 ? Double.parseDouble(args[0]) : 10.0) * 1000);
+        double maxP99Millis = args.length > 1 ? Double.parseDouble(args[1]) : 50.0;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        boolean ok = true;
+        for (LoopMode mode : LoopMode.values()) {
+            PhaseHistogram latencies = measure(mode, measureMillis, new Random(seed));
+            double p99Millis = latencies.percentile(0.99) / 1e6;
+            boolean modeOk = latencies.getCount() > 0 && p99Millis <= maxP99Millis;
+            ok &= modeOk;
+            System.out.printf("%s [%s] inputs=%d mean=%.2fms p50=%.2fms p99=%.2fms max=%.2fms (limit %.2fms)%n",
+                    modeOk ? "OK" : "FAIL", mode, latencies.getCount(), latencies.getMean() / 1e6,
+                    latencies.percentile(0.5) / 1e6, p99Millis, latencies.getMax() / 1e6, maxP99Millis);
+        }
+        if (!ok) System.exit(1);
+    }
+
+    /**
+     * Plays with synthetic input for the warmup plus the given time and returns the latencies after the warmup.
+     */
+    private static PhaseHistogram measure(LoopMode mode, long measureMillis, Random rng) throws Exception {
+        GameContainer container = new GameContainer(WIDTH, HEIGHT, mode);
+        final GamePanel panel = container.getGamePanel();
+        panel.setSize(WIDTH, HEIGHT);
+        onEdt(container::startNewGame);
+
+        // The simulated display, painting the latest frame like the RepaintManager would
+        Thread display = new Thread(() -> {
+            BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = image.createGraphics();
+            long period = 1_000_000_000L / DISPLAY_HZ;
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    onEdt(() -> panel.paintComponent(g2d));
+                    Thread.sleep(period / 1_000_000L, (int) (period % 1_000_000L));
+                }
+            } catch (InterruptedException e) {
+                // Done
+            } finally {
+                g2d.dispose();
+            }
+        }, "latency-display");
+        display.setDaemon(true);
+        display.start();
+
+        long start = System.currentTimeMillis();
+        boolean warm = false;
+        int key = 0;
+        while (System.currentTimeMillis() - start < WARMUP_MILLIS + measureMillis) {
+            if (!warm && System.currentTimeMillis() - start >= WARMUP_MILLIS) {
+                onEdt(panel.getInputLatency()::resetLatencies); // The EDT records the latencies
+                warm = true;
+            }
+            if (!panel.isGameRunning()) onEdt(container::startNewGame);
+
+            // Alternate between left & right, so the Player stays on screen. Some presses are released
+            // within the same EDT task, i.e. faster than a tick, these must not get lost either.
+            final int keyCode = KEYS[key++ % KEYS.length];
+            int holdMillis = rng.nextInt(4) == 0 ? 0 : 10 + rng.nextInt(80);
+            if (holdMillis == 0) {
+                onEdt(() -> {
+                    sendKey(panel, KeyEvent.KEY_PRESSED, keyCode);
+                    sendKey(panel, KeyEvent.KEY_RELEASED, keyCode);
+                });
+            } else {
+                onEdt(() -> sendKey(panel, KeyEvent.KEY_PRESSED, keyCode));
+                Thread.sleep(holdMillis);
+                onEdt(() -> sendKey(panel, KeyEvent.KEY_RELEASED, keyCode));
+            }
+            Thread.sleep(30 + rng.nextInt(120));
+        }
+
+        panel.stopGame();
+        display.interrupt();
+        display.join();
+
+        PhaseHistogram latencies = new PhaseHistogram();
+        onEdt(() -> latencies.copyFrom(panel.getInputLatency().getLatencies()));
+        return latencies;
+    }
+
+    private static void sendKey(GamePanel panel, int id, int keyCode) {
+        KeyEvent e = new KeyEvent(panel, id, System.currentTimeMillis(), 0, keyCode, KeyEvent.CHAR_UNDEFINED);
+        for (KeyListener listener : panel.getKeyListeners()) {
+            if (id == KeyEvent.KEY_PRESSED) listener.keyPressed(e);
+            else listener.keyReleased(e);
+        }
+    }
+
+    private static void onEdt(Runnable task) throws InterruptedException {
+        try {
+            SwingUtilities.invokeAndWait(task);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ui.render;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+
+/**
+ * One layer of a {@link ScrollingBackground}. Layers scroll down at their own speed;
+ * slower layers appear further away (parallax).
+ */
+public interface BackgroundLayer {
+    /**
+     * Advances the scroll position by one frame.
+     */
+    void scroll();
+
+    /**
+     * Resets the scroll position.
+     */
+    void reset();
+
+    /**
+     * Draws the visible part of the layer.
+     *
+     * @param viewWidth width of the visible area, starting at (0, 0)
+     * @param viewHeight height of the visible area
+     */
+    void draw(Graphics2D g2d, int viewWidth, int viewHeight);
+
+    /**
+     * Draws the visible part of the layer at a lower resolution, e.g. into a smaller back buffer.
+     * By default the layer is simply drawn with a scale transform. Layers with images should
+     * override this to draw pre-scaled images instead, because scaling while drawing is slow.
+     *
+     * @param viewWidth width of the visible area at full resolution
+     * @param viewHeight height of the visible area at full resolution
+     * @param scale factor to scale everything down by, 1.0 for full resolution
+     */
+    default void drawScaled(Graphics2D g2d, int viewWidth, int viewHeight, double scale) {
+        AffineTransform oldTransform = g2d.getTransform();
+        g2d.scale(scale, scale);
+        draw(g2d, viewWidth, viewHeight);
+        g2d.setTransform(oldTransform);
+    }
+}
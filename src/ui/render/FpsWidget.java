@@ -0,0 +1,51 @@
+package ui.render;
+
+import java.awt.*;
+
+/**
+ * Shows the approximate FPS and the 99th percentile of the frame time in the upper left corner,
+ * plus the render scale while dynamic resolution renders below full resolution.
+ */
+public class FpsWidget extends HudWidget {
+    private static final Font FONT = new Font("Arial", Font.BOLD, 12);
+    private static final FontMetrics METRICS = getFontMetrics(FONT);
+    private static final int LINE_SPACING = 14;
+
+    private long fps = 0;
+    private long frameTimeP99Tenths = 0; // in 0.1 ms, the precision that is shown
+    private int renderScalePercent = 100;
+
+    /**
+     * @param x X coordinate of the text
+     * @param baseline Y coordinate of the first line's baseline
+     */
+    public FpsWidget(int x, int baseline) {
+        super(x, baseline - METRICS.getAscent(),
+                METRICS.stringWidth("p99 99999.9 ms"), METRICS.getAscent() + LINE_SPACING + METRICS.getDescent());
+    }
+
+    /**
+     * @param fps approximate frames per second
+     * @param frameTimeP99 99th percentile of the frame time in nanoseconds
+     * @param renderScale scale the world is rendered at, shown if it isn't 1.0
+     */
+    public void setValues(long fps, long frameTimeP99, double renderScale) {
+        long p99Tenths = Math.round(frameTimeP99 / 1e5);
+        int scalePercent = (int)Math.round(renderScale * 100);
+        if (fps != this.fps || p99Tenths != frameTimeP99Tenths || scalePercent != renderScalePercent) {
+            this.fps = fps;
+            this.frameTimeP99Tenths = p99Tenths;
+            this.renderScalePercent = scalePercent;
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void render(Graphics2D g2d) {
+        g2d.setColor(Color.gray);
+        g2d.setFont(FONT);
+        g2d.drawString(renderScalePercent == 100 ? fps + " FPS" : fps + " FPS @ " + renderScalePercent + "%",
+                0, METRICS.getAscent());
+        g2d.drawString(String.format("p99 %.1f ms", frameTimeP99Tenths / 10.0), 0, METRICS.getAscent() + LINE_SPACING);
+    }
+}
@@ -0,0 +1,262 @@
+package ui.render;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import game.entities.Coin;
+import game.entities.Obstacle;
+import game.entities.Player;
+import game.profiling.FrameProfiler;
+import game.util.GameConfig;
+import game.util.ResourceHelper;
+import game.world.GameWorld;
+import game.world.RenderSnapshot;
+
+/**
+ * Draws a complete frame of a GameWorld onto any Graphics2D object.
+ * It doesn't care where the frame ends up, so the same code is used for
+ * passive painting in paintComponent(), for the active rendering modes
+ * and for offscreen rendering in benchmarks.
+ */
+public class GameRenderer {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final int width;
+    private final int height;
+
+    private static final double BACKGROUND_SPEED = 1.0 / 3.0; // Scrolls background down by 1 pixel every 3 frames
+    private final ScrollingBackground background;
+
+    // Score & FPS display, only re-rendered when the shown values change
+    private final Hud hud = new Hud();
+    private final ScoreWidget scoreWidget;
+    private final FpsWidget fpsWidget;
+
+    // Used by render(g2d, world, alpha)
+    private final RenderSnapshot worldSnapshot = new RenderSnapshot();
+
+    // Dynamic resolution: the world is drawn into a smaller image that is stretched onto the target
+    private ResolutionScaler resolutionScaler; // Null = always full resolution
+    private BufferedImage sceneBuffer; // Sized for the current scale, only used below full resolution
+
+    private FrameProfiler profiler;
+    private ProfilerOverlay profilerOverlay;
+    private boolean drawProfiler = false;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    public GameRenderer(int width, int height) {
+        this.width = width;
+        this.height = height;
+
+        // Init background: the space image (scaled to a square tile) and optional parallax star fields
+        background = new ScrollingBackground(width, height);
+        int size = Math.max(this.width, this.height);
+        background.addLayer(new TiledImageLayer(
+                ResourceHelper.loadAndScaleImage("/images/bg_space1.png", size, size), BACKGROUND_SPEED));
+        for (int i = 1; i <= GameConfig.STAR_LAYERS; ++i) {
+            // Nearer layers scroll faster and have bigger, brighter stars
+            int alpha = Math.min(255, 80 + 60 * i);
+            background.addLayer(new StarfieldLayer(60, 1 + i / 2, new Color(255, 255, 255, alpha),
+                    BACKGROUND_SPEED * (1 + i), width, height, i));
+        }
+
+        scoreWidget = new ScoreWidget(2, height - 12);
+        fpsWidget = new FpsWidget(0, 12);
+        hud.addWidget(scoreWidget);
+        hud.addWidget(fpsWidget);
+    }
+
+    /**
+     * Resets all visual state that isn't part of the game world, e.g. the background scroll position
+     * and the resolution chosen by dynamic resolution, so every game starts at full resolution.
+     */
+    public void reset() {
+        background.reset();
+        if (resolutionScaler != null) resolutionScaler.reset();
+    }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Renders the world state between the last two simulation ticks.
+     * Copies the world into a snapshot first, so this must be called by the thread that changes the world.
+     *
+     * @param g2d the Graphics2D object to draw on
+     * @param world the world to draw
+     * @param alpha interpolation factor, 0.0 for the previous tick and 1.0 for the latest tick
+     */
+    public void render(Graphics2D g2d, GameWorld world, double alpha) {
+        worldSnapshot.capture(world, alpha);
+        render(g2d, worldSnapshot);
+    }
+
+    /**
+     * Renders a snapshot of the world, interpolated between the last two simulation ticks.
+     *
+     * @param g2d the Graphics2D object to draw on
+     * @param snapshot the world state to draw
+     */
+    public void render(Graphics2D g2d, RenderSnapshot snapshot) {
+        long paintStart = System.nanoTime();
+        double scale = resolutionScaler != null ? resolutionScaler.getScale() : 1.0;
+        if (scale < 1.0) {
+            // Draw the world at the lower resolution and stretch it onto the target in one blit.
+            // The HUD is drawn afterwards at full resolution, so the text stays sharp.
+            BufferedImage buffer = getSceneBuffer(scale);
+            Graphics2D sceneGraphics = buffer.createGraphics();
+            try {
+                drawWorld(sceneGraphics, snapshot, scale);
+            } finally {
+                sceneGraphics.dispose();
+            }
+            g2d.drawImage(buffer, 0, 0, width, height, 0, 0, buffer.getWidth(), buffer.getHeight(), null);
+        } else {
+            drawWorld(g2d, snapshot, 1.0);
+        }
+
+        scoreWidget.setScore(snapshot.getScore(), snapshot.isPlayerHit());
+        fpsWidget.setValues(snapshot.getFps(), snapshot.getFrameTimeP99(), getRenderScale());
+        hud.draw(g2d);
+        if (drawProfiler && profiler != null) profilerOverlay.draw(g2d, profiler, width);
+
+        if (resolutionScaler != null) resolutionScaler.recordPaint(System.nanoTime() - paintStart);
+    }
+
+    /**
+     * Draws everything but the HUD: background, Obstacles, Coins & the Player.
+     *
+     * @param scale resolution to draw at, below 1.0 the transform of the Graphics object is changed
+     */
+    private void drawWorld(Graphics2D g2d, RenderSnapshot snapshot, double scale) {
+        // The background layers scale themselves (using pre-scaled images), everything else is small enough to scale while drawing
+        background.draw(g2d, scale);
+        if (scale != 1.0) g2d.scale(scale, scale);
+
+        // Draw coins & obstacles. All of them scroll at the same speed, so they share the offset that
+        // interpolates them between the last two ticks. It's added to the exact positions, which are
+        // only rounded once when drawing, so the entities don't jitter by a pixel.
+        double scrollOffset = (snapshot.getAlpha() - 1.0) * snapshot.getLastScrollDelta();
+        drawObstacles(g2d, snapshot, scrollOffset);
+        drawCoins(g2d, snapshot, scrollOffset);
+
+        // Draw Player
+        if (snapshot.hasPlayer()) {
+            Player.draw(g2d, snapshot.getInterpolatedPlayerX(), snapshot.getInterpolatedPlayerY(),
+                    snapshot.getPlayerRotation(), snapshot.isPlayerHit());
+        }
+    }
+
+    /**
+     * Enables dynamic resolution: The world is rendered at the scale chosen by the given scaler,
+     * which is fed with the paint time of every frame.
+     *
+     * @param resolutionScaler the scaler to use, or null to always render at full resolution
+     */
+    public void setResolutionScaler(ResolutionScaler resolutionScaler) {
+        this.resolutionScaler = resolutionScaler;
+    }
+
+    /**
+     * @return the scale the world is currently rendered at, 1.0 is the full resolution
+     */
+    public double getRenderScale() {
+        return resolutionScaler != null ? resolutionScaler.getScale() : 1.0;
+    }
+
+    public void setDrawFPS(boolean drawFPS) {
+        fpsWidget.setVisible(drawFPS);
+    }
+
+    /**
+     * Sets the profiler whose numbers are shown in the profiler overlay.
+     *
+     * @param profiler the profiler to show, or null for none
+     * @param frameBudgetNanos the desired frame time, marked in the frame graph
+     */
+    public void setProfiler(FrameProfiler profiler, long frameBudgetNanos) {
+        this.profiler = profiler;
+        this.profilerOverlay = new ProfilerOverlay(frameBudgetNanos);
+    }
+
+    public void setDrawProfiler(boolean drawProfiler) {
+        this.drawProfiler = drawProfiler;
+    }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    /**
+     * @return the image the world is drawn into at the given scale, (re-)created if the scale changed
+     */
+    private BufferedImage getSceneBuffer(double scale) {
+        int bufferWidth = Math.max(1, (int)Math.round(width * scale));
+        int bufferHeight = Math.max(1, (int)Math.round(height * scale));
+        if (sceneBuffer == null || sceneBuffer.getWidth() != bufferWidth || sceneBuffer.getHeight() != bufferHeight) {
+            if (sceneBuffer != null) sceneBuffer.flush();
+            sceneBuffer = ResourceHelper.createCompatibleImage(bufferWidth, bufferHeight, Transparency.OPAQUE);
+        }
+        return sceneBuffer;
+    }
+
+    /**
+     * Draws all Obstacles of the snapshot with integer fillRect() calls, which take Java2D's
+     * fast path instead of rasterizing a generic Shape for every Obstacle. The rectangles are
+     * snapped to the same pixels that fill(Rectangle2D) would cover, so the result looks exactly
+     * the same. All Obstacles share one color, so it's set only once, and Obstacles of the same
+     * row that touch after snapping are merged into a single fill.
+     *
+     * @param scrollOffset interpolation offset that is added to the Y coordinates
+     */
+    private void drawObstacles(Graphics2D g2d, RenderSnapshot snapshot, double scrollOffset) {
+        g2d.setColor(Obstacle.COLOR);
+        boolean pure = g2d.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL) == RenderingHints.VALUE_STROKE_PURE;
+
+        // The pending rectangle, in pixels. Empty as long as spanX1 <= spanX0.
+        int spanX0 = 0, spanX1 = 0, spanY0 = 0, spanY1 = 0;
+        for (int i = 0; i < snapshot.getEntityCount(); ++i) {
+            if (snapshot.getType(i) != RenderSnapshot.TYPE_OBSTACLE) continue;
+            double x = snapshot.getX(i);
+            double y = snapshot.getY(i) + scrollOffset;
+            int x0 = snapToPixel(x, pure);
+            int x1 = snapToPixel(x + snapshot.getWidth(i), pure);
+            int y0 = snapToPixel(y, pure);
+            int y1 = snapToPixel(y + snapshot.getHeight(i), pure);
+
+            if (y0 == spanY0 && y1 == spanY1 && x0 <= spanX1 && x1 >= spanX0) {
+                // Same row and touching the pending rectangle -> extend it
+                spanX0 = Math.min(spanX0, x0);
+                spanX1 = Math.max(spanX1, x1);
+                continue;
+            }
+            if (spanX1 > spanX0 && spanY1 > spanY0)
+                g2d.fillRect(spanX0, spanY0, spanX1 - spanX0, spanY1 - spanY0);
+            spanX0 = x0;
+            spanX1 = x1;
+            spanY0 = y0;
+            spanY1 = y1;
+        }
+        if (spanX1 > spanX0 && spanY1 > spanY0)
+            g2d.fillRect(spanX0, spanY0, spanX1 - spanX0, spanY1 - spanY0);
+    }
+
+    /**
+     * Returns the pixel at which a filled edge at the given coordinate starts.
+     * By default (STROKE_NORMALIZE) Java2D shifts coordinates by a quarter pixel before
+     * filling, with STROKE_PURE a pixel is covered if its center lies inside the shape
+     * (a center exactly on the left or upper edge counts as outside).
+     *
+     * @param pure true if the Graphics object uses STROKE_PURE
+     */
+    private static int snapToPixel(double coordinate, boolean pure) {
+        return pure ? (int)Math.floor(coordinate - 0.5) + 1 : (int)Math.floor(coordinate + 0.25);
+    }
+
+    private void drawCoins(Graphics2D g2d, RenderSnapshot snapshot, double scrollOffset) {
+        for (int i = 0; i < snapshot.getEntityCount(); ++i) {
+            if (snapshot.getType(i) == RenderSnapshot.TYPE_COIN)
+                Coin.draw(g2d, snapshot.getX(i), snapshot.getY(i) + scrollOffset);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ui.render;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.awt.Graphics2D;
+
+/**
+ * The heads-up display: a set of {@link HudWidget}s that are drawn on top of the game.
+ * Each widget caches its own image, so drawing the HUD is one blit per visible widget.
+ */
+public class Hud {
+    private final List<HudWidget> widgets = new ArrayList<>();
+
+    public void addWidget(HudWidget widget) {
+        widgets.add(widget);
+    }
+
+    public void draw(Graphics2D g2d) {
+        for (int i = 0; i < widgets.size(); ++i) {
+            HudWidget widget = widgets.get(i);
+            if (widget.isVisible()) widget.draw(g2d);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ui.render;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import game.util.ResourceHelper;
+
+/**
+ * Part of the HUD that is rendered into its own small, translucent image. The image is
+ * only redrawn after the widget was invalidated (usually because a shown value changed),
+ * otherwise drawing the widget is a single blit that doesn't allocate anything.
+ */
+public abstract class HudWidget {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final int x, y;
+    private final BufferedImage image;
+    private boolean dirty = true;
+    private boolean visible = true;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /**
+     * @param x X coordinate of the widget's upper left corner on the panel
+     * @param y Y coordinate of the widget's upper left corner on the panel
+     * @param width width of the widget, everything outside is cut off
+     * @param height height of the widget, everything outside is cut off
+     */
+    protected HudWidget(int x, int y, int width, int height) {
+        this.x = x;
+        this.y = y;
+        this.image = ResourceHelper.createCompatibleImage(Math.max(1, width), Math.max(1, height), Transparency.TRANSLUCENT);
+    }
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Draws the widget, after redrawing its image if it was invalidated.
+     */
+    public final void draw(Graphics2D g2d) {
+        if (dirty) {
+            Graphics2D g = image.createGraphics();
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.setComposite(AlphaComposite.SrcOver);
+            render(g);
+            g.dispose();
+            dirty = false;
+        }
+        g2d.drawImage(image, x, y, null);
+    }
+
+    public boolean isVisible() { return visible; }
+
+    public void setVisible(boolean visible) { this.visible = visible; }
+
+    /**
+     * Makes the widget redraw its image the next time it's drawn.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Renders the widget's contents into its (cleared) image, with (0, 0) at the widget's upper left corner.
+     */
+    protected abstract void render(Graphics2D g2d);
+
+    /**
+     * @return the metrics of a font, without needing a Graphics object of the panel
+     */
+    protected static FontMetrics getFontMetrics(Font font) {
+        Graphics2D g = ResourceHelper.createCompatibleImage(1, 1, Transparency.TRANSLUCENT).createGraphics();
+        try {
+            return g.getFontMetrics(font);
+        } finally {
+            g.dispose();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ui.render;
+
+import java.awt.*;
+
+import game.profiling.FrameProfiler;
+import game.profiling.Phase;
+import game.profiling.PhaseHistogram;
+
+/**
+ * Draws the numbers of a {@link FrameProfiler} on top of a frame: p50/p95/p99/max of
+ * every phase and of the whole frame, plus a scrolling graph of the most recent frame
+ * times with a line at the frame budget. The text is only rebuilt a few times per
+ * second, so it stays readable and doesn't produce garbage every frame.
+ */
+public class ProfilerOverlay {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private static final long TEXT_REFRESH_NANOS = 250_000_000L;
+    private static final int LINE_HEIGHT = 14;
+    private static final int PADDING = 6;
+    private static final int GRAPH_HEIGHT = 60;
+
+    private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+    private static final Color GRAPH_OK = new Color(80, 200, 80);
+    private static final Color GRAPH_OVER_BUDGET = new Color(230, 60, 60);
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long frameBudgetNanos;
+    private final String[] lines = new String[PHASES.length + 2]; // Header, phases, frame
+    private long lastTextRefresh = 0;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /*++++++++++++++++++++ CONSTRUCTORS / INIT +++++++++++++++++++++*/
+    /**
+     * @param frameBudgetNanos the desired frame time, drawn as a line in the graph
+     */
+    public ProfilerOverlay(long frameBudgetNanos) {
+        this.frameBudgetNanos = frameBudgetNanos;
+    }
+    /*-------------------- CONSTRUCTORS / INIT ---------------------*/
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Draws the overlay in the upper right corner of an area of the given width.
+     */
+    public void draw(Graphics2D g2d, FrameProfiler profiler, int areaWidth) {
+        long now = System.nanoTime();
+        if (lines[0] == null || now - lastTextRefresh >= TEXT_REFRESH_NANOS) {
+            refreshText(profiler);
+            lastTextRefresh = now;
+        }
+
+        int graphWidth = profiler.getGraphLength();
+        int boxWidth = graphWidth + 2 * PADDING;
+        int boxHeight = lines.length * LINE_HEIGHT + GRAPH_HEIGHT + 3 * PADDING;
+        int left = areaWidth - boxWidth - PADDING;
+        int top = PADDING;
+
+        g2d.setColor(BACKGROUND);
+        g2d.fillRect(left, top, boxWidth, boxHeight);
+
+        // Percentile table
+        g2d.setFont(FONT);
+        g2d.setColor(Color.white);
+        int y = top + PADDING;
+        for (String line : lines) {
+            y += LINE_HEIGHT;
+            g2d.drawString(line, left + PADDING, y - 3);
+        }
+
+        // Frame graph: newest frame on the right, full height = 2x frame budget
+        int graphLeft = left + PADDING;
+        int graphBottom = y + PADDING + GRAPH_HEIGHT;
+        double pixelsPerNano = GRAPH_HEIGHT / (2.0 * frameBudgetNanos);
+        for (int age = 0; age < graphWidth; ++age) {
+            long frameNanos = profiler.getRecentFrame(age);
+            if (frameNanos <= 0) break;
+            int barHeight = (int) Math.min(GRAPH_HEIGHT, Math.round(frameNanos * pixelsPerNano));
+            int x = graphLeft + graphWidth - 1 - age;
+            g2d.setColor(frameNanos > frameBudgetNanos ? GRAPH_OVER_BUDGET : GRAPH_OK);
+            g2d.drawLine(x, graphBottom, x, graphBottom - barHeight);
+        }
+        int budgetY = graphBottom - GRAPH_HEIGHT / 2;
+        g2d.setColor(Color.lightGray);
+        g2d.drawLine(graphLeft, budgetY, graphLeft + graphWidth - 1, budgetY);
+    }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    private void refreshText(FrameProfiler profiler) {
+        lines[0] = String.format("%-9s %7s %7s %7s %7s", "ms", "p50", "p95", "p99", "max");
+        for (int i = 0; i < PHASES.length; ++i) {
+            lines[i + 1] = formatLine(PHASES[i].getLabel(), profiler.getHistogram(PHASES[i]));
+        }
+        lines[lines.length - 1] = formatLine("frame", profiler.getFrameHistogram());
+    }
+
+    private static String formatLine(String name, PhaseHistogram histogram) {
+        return String.format("%-9s %7.3f %7.3f %7.3f %7.3f", name,
+                histogram.percentile(0.50) / 1e6, histogram.percentile(0.95) / 1e6,
+                histogram.percentile(0.99) / 1e6, histogram.getMax() / 1e6);
+    }
+}
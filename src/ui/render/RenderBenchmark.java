@@ -0,0 +1,182 @@
+package ui.render;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import game.input.InputState;
+import game.loop.FramePacer;
+import game.loop.FrameTimeStats;
+import game.util.TripleBuffer;
+import game.world.GameWorld;
+import game.world.RenderSnapshot;
+
+/**
+ * Compares passive rendering via repaint() with active rendering, using offscreen
+ * images so it also runs on headless machines.
+ * <ul>
+ *     <li>passive: The game thread publishes a snapshot of the world and requests a paint.
+ *     The EDT renders the latest snapshot into a back buffer (like Swing's double buffering)
+ *     and copies it to the "screen" image.
+ *     Paint requests arriving while a paint is still pending are merged, just like
+ *     the RepaintManager does.</li>
+ *     <li>active: The game thread renders into the back buffer and flips it onto the
+ *     "screen" image itself, like GameCanvas does with its BufferStrategy.</li>
+ * </ul>
+ * Reported are presented frames per second and the variance of the time between presented frames.
+ * <p>
+ * Usage: {@code java -Djava.awt.headless=true ui.render.RenderBenchmark [seconds] [fps, 0 = unthrottled] [load threads]}
+ */
+public class RenderBenchmark {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+
+    /**
+     * Gets a rendered frame onto the (offscreen) screen and counts the presented frames.
+     */
+    private abstract static class Presenter {
+        final GameRenderer renderer = new GameRenderer(WIDTH, HEIGHT);
+        final BufferedImage backBuffer = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        final BufferedImage screen = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        final FrameTimeStats stats = new FrameTimeStats(100_000, 1_000_000_000L / 60);
+        long presentedFrames = 0;
+        private long lastPresentNanos = 0;
+
+        abstract void present(GameWorld world);
+
+        /** Renders the world into the back buffer and copies it to the screen image. */
+        void renderAndFlip(GameWorld world) {
+            Graphics2D g2d = backBuffer.createGraphics();
+            renderer.render(g2d, world, 1.0);
+            g2d.dispose();
+            flip();
+        }
+
+        /** Renders a snapshot into the back buffer and copies it to the screen image. */
+        void renderAndFlip(RenderSnapshot snapshot) {
+            Graphics2D g2d = backBuffer.createGraphics();
+            renderer.render(g2d, snapshot);
+            g2d.dispose();
+            flip();
+        }
+
+        private void flip() {
+            Graphics2D screenGraphics = screen.createGraphics();
+            screenGraphics.drawImage(backBuffer, 0, 0, null);
+            screenGraphics.dispose();
+
+            long now = System.nanoTime();
+            if (lastPresentNanos != 0) stats.record(now - lastPresentNanos);
+            lastPresentNanos = now;
+            ++presentedFrames;
+        }
+    }
+
+    private static class ActivePresenter extends Presenter {
+        @Override
+        void present(GameWorld world) {
+            renderAndFlip(world);
+        }
+    }
+
+    private static class PassivePresenter extends Presenter {
+        private final AtomicBoolean paintPending = new AtomicBoolean(false);
+        // Like GamePanel, the game thread publishes snapshots and the EDT draws the latest one
+        private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
+        long tornFrames = 0; // Paints that failed because the world changed while drawing it
+
+        @Override
+        void present(final GameWorld world) {
+            snapshots.getBackBuffer().capture(world, 1.0);
+            snapshots.publish();
+            if (paintPending.compareAndSet(false, true)) {
+                EventQueue.invokeLater(() -> {
+                    try {
+                        renderAndFlip(snapshots.getLatest());
+                    } catch (RuntimeException e) {
+                        ++tornFrames; // Shouldn't happen, the EDT never reads the world itself
+                    } finally {
+                        paintPending.set(false);
+                    }
+                });
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 5.0;
+        int fps = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        int loadThreads = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+        startLoadThreads(loadThreads);
+
+        System.out.printf("Rendering for %.1f s per mode, %s, %d load thread(s)%n",
+                seconds, fps > 0 ? fps + " FPS target" : "unthrottled", loadThreads);
+        runMode("warmup", new ActivePresenter(), seconds / 2, fps, false);
+        Result passive = runMode("passive (repaint)", new PassivePresenter(), seconds, fps, true);
+        Result active = runMode("active (offscreen flip)", new ActivePresenter(), seconds, fps, true);
+
+        System.out.printf("Active vs. passive: %+.1f%% frames/s, frame time std. deviation %.3f ms vs. %.3f ms%n",
+                100.0 * (active.fps / passive.fps - 1.0), active.stdDevMillis, passive.stdDevMillis);
+        System.exit(0); // Stop the load threads
+    }
+
+    private static class Result {
+        double fps;
+        double stdDevMillis;
+    }
+
+    private static Result runMode(String name, Presenter presenter, double seconds, int fps, boolean print) throws Exception {
+        GameWorld world = new GameWorld(WIDTH, HEIGHT, 42L);
+        InputState input = new InputState();
+        Random inputRng = new Random(42L);
+        FramePacer pacer = new FramePacer();
+        long frameNanos = fps > 0 ? 1_000_000_000L / fps : 0;
+
+        long start = System.nanoTime();
+        long end = start + (long) (seconds * 1e9);
+        long nextFrame = start;
+        long loopFrames = 0;
+        while (System.nanoTime() < end) {
+            if (loopFrames % 20 == 0) input.setBits(inputRng.nextInt(InputState.ALL + 1));
+            if (!world.step(input)) world.reset();
+
+            presenter.present(world);
+            ++loopFrames;
+
+            if (frameNanos > 0) {
+                nextFrame += frameNanos;
+                pacer.waitUntil(nextFrame);
+            }
+        }
+        EventQueue.invokeAndWait(() -> { }); // Let pending paints finish
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        Result result = new Result();
+        result.fps = presenter.presentedFrames / elapsed;
+        result.stdDevMillis = presenter.stats.jitter() / 1e6;
+        if (print) {
+            System.out.printf("%-24s loop frames: %7d, presented: %7d (%.1f frames/s, %d merged)%n",
+                    name, loopFrames, presenter.presentedFrames, result.fps, loopFrames - presenter.presentedFrames);
+            System.out.printf("%-24s %s%n", "", presenter.stats.summary());
+            if (presenter instanceof PassivePresenter)
+                System.out.printf("%-24s torn frames: %d%n", "", ((PassivePresenter) presenter).tornFrames);
+        }
+        return result;
+    }
+
+    /** Simulates a loaded machine with threads that just burn CPU time. */
+    private static void startLoadThreads(int count) {
+        for (int i = 0; i < count; ++i) {
+            Thread t = new Thread(() -> {
+                long x = 0;
+                while (true) x += System.nanoTime() % 7;
+            }, "load-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ui.render;
+
+/**
+ * Defines how frames get onto the screen.
+ */
+public enum RenderMode {
+    /**
+     * The game thread calls repaint() and Swing paints the frame on the EDT, whenever it gets to it.
+     */
+    PASSIVE,
+
+    /**
+     * The game thread draws directly into the BufferStrategy of a Canvas and flips the buffers itself.
+     */
+    BUFFER_STRATEGY,
+
+    /**
+     * The game thread draws into a VolatileImage back buffer and copies it onto the GamePanel itself.
+     */
+    VOLATILE_IMAGE;
+
+    /**
+     * Parses a render mode from a config string like "passive", "bufferstrategy" or "volatile".
+     * Unknown values fall back to PASSIVE.
+     */
+    public static RenderMode fromString(String value) {
+        if (value != null) {
+            String v = value.trim().toLowerCase().replace("_", "");
+            if (v.equals("bufferstrategy") || v.equals("active"))
+                return BUFFER_STRATEGY;
+            if (v.equals("volatile") || v.equals("volatileimage"))
+                return VOLATILE_IMAGE;
+        }
+        return PASSIVE;
+    }
+}
@@ -0,0 +1,110 @@
+package ui.render;
+
+import java.util.Arrays;
+
+/**
+ * Picks the resolution the game world is rendered at, so painting stays within its budget
+ * on machines that render in software, where the cost mostly depends on the number of pixels.
+ * <p>
+ * The paint times are averaged over windows of {@value #WINDOW_FRAMES} frames. If a window's
+ * average is over budget, the scale drops one step. It only rises again after
+ * {@value #HEADROOM_WINDOWS} windows in a row in which even the larger resolution would have
+ * stayed well below the budget (assuming the cost grows with the number of pixels). The gap
+ * between both conditions keeps the scale from flickering back and forth.
+ * <p>
+ * Stretching the smaller image onto the target isn't free either, with software rendering it
+ * can cost more than drawing the scene at full resolution. So the last average of every scale
+ * is remembered, and if a lower scale turns out to be no faster than the one above, the scaler
+ * goes back up and doesn't try that scale again for {@value #BLOCKED_WINDOWS} windows.
+ */
+public class ResolutionScaler {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private static final double[] SCALES = { 1.0, 0.75, 0.5 };
+    private static final int WINDOW_FRAMES = 30;
+    private static final int HEADROOM_WINDOWS = 4;
+    /** The next larger scale has to fit into this fraction of the budget, see {@link #recordPaint(long)}. */
+    private static final double HEADROOM_FRACTION = 0.7;
+    private static final int BLOCKED_WINDOWS = 60; // ~30s at 60 FPS
+
+    private final long paintBudgetNanos;
+
+    private volatile int level = 0; // Index in SCALES, read by other threads for metrics
+    private long windowNanos = 0;
+    private int windowFrames = 0;
+    private int headroomWindows = 0;
+    private long windows = 0; // Number of finished windows
+    private final double[] levelAverages = new double[SCALES.length]; // Last window average of each scale, 0 = unknown
+    private final long[] blockedUntil = new long[SCALES.length]; // Window number from which on a scale may be used again
+    private volatile int scaleChanges = 0;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /**
+     * @param paintBudgetNanos the time painting a frame should take at most
+     */
+    public ResolutionScaler(long paintBudgetNanos) {
+        this.paintBudgetNanos = paintBudgetNanos;
+    }
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    /**
+     * Adds the paint time of a frame and changes the scale at the end of a window, if needed.
+     */
+    public void recordPaint(long paintNanos) {
+        windowNanos += paintNanos;
+        if (++windowFrames < WINDOW_FRAMES) return;
+
+        double average = windowNanos / (double) windowFrames;
+        windowNanos = 0;
+        windowFrames = 0;
+        ++windows;
+        levelAverages[level] = average;
+
+        if (level > 0 && average >= levelAverages[level - 1]) {
+            // The lower resolution doesn't pay off, the upscaling costs more than it saves
+            headroomWindows = 0;
+            blockedUntil[level] = windows + BLOCKED_WINDOWS;
+            setLevel(level - 1);
+        } else if (average > paintBudgetNanos) {
+            headroomWindows = 0;
+            if (level < SCALES.length - 1 && windows >= blockedUntil[level + 1]) setLevel(level + 1);
+        } else if (level > 0) {
+            double ratio = SCALES[level - 1] / SCALES[level];
+            double predicted = average * ratio * ratio;
+            headroomWindows = predicted < HEADROOM_FRACTION * paintBudgetNanos ? headroomWindows + 1 : 0;
+            if (headroomWindows >= HEADROOM_WINDOWS) {
+                headroomWindows = 0;
+                setLevel(level - 1);
+            }
+        }
+    }
+
+    /**
+     * Goes back to full resolution and forgets all measurements.
+     */
+    public void reset() {
+        level = 0;
+        windowNanos = 0;
+        windowFrames = 0;
+        headroomWindows = 0;
+        windows = 0;
+        Arrays.fill(levelAverages, 0.0);
+        Arrays.fill(blockedUntil, 0L);
+    }
+
+    private void setLevel(int newLevel) {
+        level = newLevel;
+        ++scaleChanges;
+    }
+
+    /**
+     * @return the current scale of the rendered world, 1.0 is the full resolution
+     */
+    public double getScale() { return SCALES[level]; }
+
+    /**
+     * @return number of times the scale changed so far
+     */
+    public int getScaleChanges() { return scaleChanges; }
+
+    public long getPaintBudgetNanos() { return paintBudgetNanos; }
+}
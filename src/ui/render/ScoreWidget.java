@@ -0,0 +1,38 @@
+package ui.render;
+
+import java.awt.*;
+
+/**
+ * Shows the score in the lower left corner, in red while the Player is hit.
+ */
+public class ScoreWidget extends HudWidget {
+    private static final Font FONT = new Font("Arial", Font.BOLD, 24);
+    private static final FontMetrics METRICS = getFontMetrics(FONT);
+
+    private int score = 0;
+    private boolean hit = false;
+
+    /**
+     * @param x X coordinate of the text
+     * @param baseline Y coordinate of the text's baseline
+     */
+    public ScoreWidget(int x, int baseline) {
+        super(x, baseline - METRICS.getAscent(),
+                METRICS.stringWidth("Score: " + Integer.MIN_VALUE), METRICS.getAscent() + METRICS.getDescent());
+    }
+
+    public void setScore(int score, boolean hit) {
+        if (score != this.score || hit != this.hit) {
+            this.score = score;
+            this.hit = hit;
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void render(Graphics2D g2d) {
+        g2d.setColor(hit ? Color.red : Color.white);
+        g2d.setFont(FONT);
+        g2d.drawString("Score: " + score, 0, METRICS.getAscent());
+    }
+}
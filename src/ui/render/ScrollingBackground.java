@@ -0,0 +1,51 @@
+package ui.render;
+
+import java.awt.Graphics2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A background made of layers that scroll down at different speeds, drawn back to front.
+ */
+public class ScrollingBackground {
+    private final int width;
+    private final int height;
+    private final List<BackgroundLayer> layers = new ArrayList<>();
+
+    public ScrollingBackground(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Adds a layer in front of all layers added so far.
+     */
+    public void addLayer(BackgroundLayer layer) {
+        layers.add(layer);
+    }
+
+    public void reset() {
+        for (int i = 0; i < layers.size(); ++i) layers.get(i).reset();
+    }
+
+    /**
+     * Scrolls all layers by one frame and draws them.
+     */
+    public void draw(Graphics2D g2d) {
+        draw(g2d, 1.0);
+    }
+
+    /**
+     * Scrolls all layers by one frame and draws them at the given scale (see {@link BackgroundLayer#drawScaled}).
+     */
+    public void draw(Graphics2D g2d, double scale) {
+        for (int i = 0; i < layers.size(); ++i) {
+            BackgroundLayer layer = layers.get(i);
+            layer.scroll();
+            if (scale == 1.0)
+                layer.draw(g2d, width, height);
+            else
+                layer.drawScaled(g2d, width, height, scale);
+        }
+    }
+}
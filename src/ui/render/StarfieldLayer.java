@@ -0,0 +1,67 @@
+package ui.render;
+
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * Background layer of small stars that scroll down. Only the stars themselves are drawn,
+ * so the cost of a layer depends on its number of stars, not on the size of the view,
+ * and many layers can be stacked for a parallax effect.
+ */
+public class StarfieldLayer implements BackgroundLayer {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final int[] starX;
+    private final double[] starY;
+    private final int starSize;
+    private final Color color;
+    private final double speed;
+    private final int fieldHeight;
+    private double scrollPos = 0.0;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /**
+     * @param stars number of stars
+     * @param starSize width & height of a star in pixels
+     * @param color color of the stars, use a translucent color for far away layers
+     * @param speed pixels to scroll down per frame
+     * @param width width of the star field, usually the view width
+     * @param height height of the star field, usually the view height
+     * @param seed seed for the star positions
+     */
+    public StarfieldLayer(int stars, int starSize, Color color, double speed, int width, int height, long seed) {
+        this.starX = new int[stars];
+        this.starY = new double[stars];
+        this.starSize = starSize;
+        this.color = color;
+        this.speed = speed;
+        this.fieldHeight = height;
+
+        Random rng = new Random(seed);
+        for (int i = 0; i < stars; ++i) {
+            starX[i] = rng.nextInt(width);
+            starY[i] = rng.nextInt(height);
+        }
+    }
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    @Override
+    public void scroll() {
+        scrollPos = (scrollPos + speed) % fieldHeight;
+    }
+
+    @Override
+    public void reset() {
+        scrollPos = 0.0;
+    }
+
+    @Override
+    public void draw(Graphics2D g2d, int viewWidth, int viewHeight) {
+        g2d.setColor(color);
+        for (int i = 0; i < starX.length; ++i) {
+            // The field wraps around, so stars leaving the bottom come back at the top
+            int y = (int)((starY[i] + scrollPos) % fieldHeight);
+            if (y < viewHeight && starX[i] < viewWidth)
+                g2d.fillRect(starX[i], y, starSize, starSize);
+        }
+    }
+}
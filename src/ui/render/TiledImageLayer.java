@@ -0,0 +1,112 @@
+package ui.render;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+import game.util.ResourceHelper;
+
+/**
+ * Background layer that repeats a seamlessly tileable image (think of textures) and
+ * scrolls it down. Only the visible slices of the tile are drawn: with a tile at least
+ * as large as the view, that's two blits per frame which together cover the view exactly.
+ * <p>
+ * When drawing to a screen, the tile is kept in a VolatileImage, so it stays in video
+ * memory. The image is restored if its contents get lost, and the BufferedImage is
+ * used if that isn't possible (e.g. when drawing offscreen or headless).
+ */
+public class TiledImageLayer implements BackgroundLayer {
+    /*+++++++++++++++++++++++++ ATTRIBUTES +++++++++++++++++++++++++*/
+    private final BufferedImage tile;
+    private final double speed;
+    private double scrollPos = 0.0;
+
+    private VolatileImage acceleratedTile;
+
+    // The tile scaled down for drawScaled(), created when the scale changes
+    private BufferedImage scaledTile;
+    private double scaledTileScale = 1.0;
+    /*------------------------- ATTRIBUTES -------------------------*/
+
+    /**
+     * @param tile the tileable image
+     * @param speed pixels to scroll down per frame
+     */
+    public TiledImageLayer(BufferedImage tile, double speed) {
+        this.tile = tile;
+        this.speed = speed;
+    }
+
+    /*++++++++++++++++++++++++++ METHODS +++++++++++++++++++++++++++*/
+    @Override
+    public void scroll() {
+        // Keep the position within one tile, so it never loses precision
+        scrollPos = (scrollPos + speed) % tile.getHeight();
+    }
+
+    @Override
+    public void reset() {
+        scrollPos = 0.0;
+    }
+
+    @Override
+    public void draw(Graphics2D g2d, int viewWidth, int viewHeight) {
+        drawTiles(g2d, getDrawableTile(g2d.getDeviceConfiguration()), tile.getWidth(), tile.getHeight(),
+                scrollPos, viewWidth, viewHeight);
+    }
+
+    /**
+     * Draws a pre-scaled copy of the tile without any transform, so the blits stay plain copies.
+     */
+    @Override
+    public void drawScaled(Graphics2D g2d, int viewWidth, int viewHeight, double scale) {
+        if (scaledTile == null || scaledTileScale != scale) {
+            scaledTile = ResourceHelper.scaleImage(tile,
+                    Math.max(1, (int)Math.round(tile.getWidth() * scale)),
+                    Math.max(1, (int)Math.round(tile.getHeight() * scale)));
+            scaledTileScale = scale;
+        }
+        drawTiles(g2d, scaledTile, scaledTile.getWidth(), scaledTile.getHeight(), scrollPos * scale,
+                (int)Math.ceil(viewWidth * scale), (int)Math.ceil(viewHeight * scale));
+    }
+
+    /*+++++++++++++++++++++++++++ HELPER FNCS +++++++++++++++++++++++++++++*/
+    private static void drawTiles(Graphics2D g2d, Image image, int tileWidth, int tileHeight,
+                                  double scrollPos, int viewWidth, int viewHeight) {
+        // Screen Y of the first tile row that starts at or above the top of the view
+        int offset = Math.floorMod((int)Math.round(scrollPos), tileHeight);
+        for (int tileY = offset - tileHeight; tileY < viewHeight; tileY += tileHeight) {
+            int dy1 = Math.max(tileY, 0);
+            int dy2 = Math.min(tileY + tileHeight, viewHeight);
+            if (dy2 <= dy1) continue;
+
+            for (int tileX = 0; tileX < viewWidth; tileX += tileWidth) {
+                int dx2 = Math.min(tileX + tileWidth, viewWidth);
+                g2d.drawImage(image, tileX, dy1, dx2, dy2,
+                        0, dy1 - tileY, dx2 - tileX, dy2 - tileY, null);
+            }
+        }
+    }
+
+    /**
+     * @return a VolatileImage copy of the tile if we're drawing on a screen, otherwise the tile itself
+     */
+    private Image getDrawableTile(GraphicsConfiguration gc) {
+        if (gc == null || gc.getDevice().getType() != GraphicsDevice.TYPE_RASTER_SCREEN) return tile;
+
+        int status = acceleratedTile != null ? acceleratedTile.validate(gc) : VolatileImage.IMAGE_INCOMPATIBLE;
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (acceleratedTile != null) acceleratedTile.flush();
+            acceleratedTile = gc.createCompatibleVolatileImage(tile.getWidth(), tile.getHeight(), tile.getTransparency());
+            status = VolatileImage.IMAGE_RESTORED;
+        }
+        if (status == VolatileImage.IMAGE_RESTORED) {
+            Graphics2D g = acceleratedTile.createGraphics();
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(tile, 0, 0, null);
+            g.dispose();
+        }
+        // If the contents got lost right away, draw the tile itself this time
+        return acceleratedTile.contentsLost() ? tile : acceleratedTile;
+    }
+}